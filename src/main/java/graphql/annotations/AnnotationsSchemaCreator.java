@@ -12,19 +12,41 @@
  */
 package graphql.annotations;
 
+import graphql.Directives;
+import graphql.GraphQL;
+import graphql.annotations.dataFetchers.SwappableDataFetchers;
 import graphql.annotations.directives.AnnotationsDirectiveWiring;
 import graphql.annotations.directives.DirectiveSchemaVisitor;
 import graphql.annotations.directives.TreeTransformerUtilWrapper;
+import graphql.annotations.execution.BulkheadRegistry;
+import graphql.annotations.execution.CacheControlInstrumentation;
+import graphql.annotations.execution.CachingPreparsedDocumentProvider;
+import graphql.annotations.execution.DeferSupportInstrumentation;
+import graphql.annotations.execution.MemoizationInstrumentation;
+import graphql.annotations.execution.NPlusOneInstrumentation;
+import graphql.annotations.execution.QueryCostInstrumentation;
+import graphql.annotations.execution.RequestDeadline;
+import graphql.annotations.execution.RequestDeadlineInstrumentation;
+import graphql.annotations.instances.InstanceProvider;
 import graphql.annotations.processor.DirectiveAndWiring;
 import graphql.annotations.processor.GraphQLAnnotations;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.annotations.strategies.IntrospectionCachingExecutionStrategy;
+import graphql.annotations.tracing.Tracing;
+import graphql.annotations.visibility.RoleVisibilitySchemaVisitor;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.relay.Relay;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.schema.SchemaTransformer;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static graphql.schema.GraphQLSchema.newSchema;
@@ -45,6 +67,19 @@ public class AnnotationsSchemaCreator {
         private Set<Class<?>> typeExtensions = new HashSet<>();
         private Set<TypeFunction> typeFunctions = new HashSet<>();
         private Boolean shouldAlwaysPrettify = null;
+        private InstanceProvider instanceProvider;
+        private int documentCacheSize = CachingPreparsedDocumentProvider.DEFAULT_MAXIMUM_SIZE;
+        private CachingPreparsedDocumentProvider documentCache;
+        private boolean swappableDataFetchersEnabled;
+        private boolean introspectionCacheEnabled;
+        private Long maximumQueryCost;
+        private Duration requestTimeout;
+        private boolean nPlusOneDetectionEnabled;
+        private boolean cacheControlEnabled;
+        private boolean deferSupportEnabled;
+        private Executor deferExecutor;
+        private Tracing tracing;
+        private SwappableDataFetchers swappableDataFetchers;
         private GraphQLAnnotations graphQLAnnotations;
         private GraphQLSchema.Builder graphqlSchemaBuilder;
         private SchemaTransformer schemaTransformer = new SchemaTransformer();
@@ -202,6 +237,18 @@ public class AnnotationsSchemaCreator {
             return this;
         }
 
+        /**
+         * Set the instance provider, which supplies the instances of data fetchers, type resolvers and detached classes
+         * (for example from a dependency injection container)
+         *
+         * @param instanceProvider an instance provider
+         * @return the builder after setting the instance provider
+         */
+        public Builder setInstanceProvider(InstanceProvider instanceProvider) {
+            this.instanceProvider = instanceProvider;
+            return this;
+        }
+
         /**
          * Set the relay object in the graphql annotations processor
          *
@@ -213,6 +260,147 @@ public class AnnotationsSchemaCreator {
             return this;
         }
 
+        /**
+         * Set the maximal number of parsed and validated documents cached by the GraphQL instance built with {@link #buildGraphQL()}
+         *
+         * @param documentCacheSize the maximal number of cached documents
+         * @return the builder after setting the document cache size
+         */
+        public Builder setDocumentCacheSize(int documentCacheSize) {
+            this.documentCacheSize = documentCacheSize;
+            return this;
+        }
+
+        /**
+         * @return the document cache of the last GraphQL instance built with {@link #buildGraphQL()}, or null if none was built
+         */
+        public CachingPreparsedDocumentProvider getDocumentCache() {
+            return this.documentCache;
+        }
+
+        /**
+         * Set whether the GraphQL instance built with {@link #buildGraphQL()} caches the results of introspection operations,
+         * see {@link IntrospectionCachingExecutionStrategy}
+         *
+         * @param introspectionCacheEnabled whether introspection results are cached
+         * @return the builder after setting whether introspection results are cached
+         */
+        public Builder setIntrospectionCache(boolean introspectionCacheEnabled) {
+            this.introspectionCacheEnabled = introspectionCacheEnabled;
+            return this;
+        }
+
+        /**
+         * Set the budget of the operations executed by the GraphQL instance built with {@link #buildGraphQL()}.
+         * Operations that cost more are rejected before they are executed, see {@link QueryCostInstrumentation}
+         *
+         * @param maximumQueryCost the maximal cost of an operation
+         * @return the builder after setting the maximal cost of an operation
+         */
+        public Builder setMaximumQueryCost(long maximumQueryCost) {
+            this.maximumQueryCost = maximumQueryCost;
+            return this;
+        }
+
+        /**
+         * Set the timeout of the requests executed by the GraphQL instance built with {@link #buildGraphQL()} without a {@link RequestDeadline}.
+         * The deadline is enforced on all the asynchronous fields, and the futures still pending when a request completes are cancelled,
+         * see {@link RequestDeadlineInstrumentation}
+         *
+         * @param requestTimeout the timeout of a request
+         * @return the builder after setting the timeout of a request
+         */
+        public Builder setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Set whether the GraphQL instance built with {@link #buildGraphQL()} reports N+1 fetching patterns in the extensions of the responses,
+         * see {@link NPlusOneInstrumentation}. Meant for development - in production, sample the requests with a {@link graphql.annotations.execution.NPlusOneListener} instead
+         *
+         * @param nPlusOneDetectionEnabled whether N+1 fetching patterns are reported
+         * @return the builder after setting whether N+1 fetching patterns are reported
+         */
+        public Builder setNPlusOneDetection(boolean nPlusOneDetectionEnabled) {
+            this.nPlusOneDetectionEnabled = nPlusOneDetectionEnabled;
+            return this;
+        }
+
+        /**
+         * Set whether the GraphQL instance built with {@link #buildGraphQL()} writes the cache policy of each response, computed out of the
+         * {@link graphql.annotations.annotationTypes.GraphQLCacheControl} hints, into its extensions, see {@link CacheControlInstrumentation}
+         *
+         * @param cacheControlEnabled whether the cache policy of the responses is computed
+         * @return the builder after setting whether the cache policy of the responses is computed
+         */
+        public Builder setCacheControl(boolean cacheControlEnabled) {
+            this.cacheControlEnabled = cacheControlEnabled;
+            return this;
+        }
+
+        /**
+         * Set whether the schema declares the experimental {@code @defer} directive, and the GraphQL instance built with {@link #buildGraphQL()}
+         * executes the requests with incremental delivery, see {@link DeferSupportInstrumentation}
+         *
+         * @param deferSupportEnabled whether fragments can be deferred
+         * @return the builder after setting whether fragments can be deferred
+         */
+        public Builder setDeferSupport(boolean deferSupportEnabled) {
+            this.deferSupportEnabled = deferSupportEnabled;
+            return this;
+        }
+
+        /**
+         * Set the executor the {@link graphql.annotations.annotationTypes.GraphQLDeferrable} fields are called on when they are selected
+         * in deferred fragments. The executor is owned by the caller, who should bound it and shut it down with the schema.
+         * Without an executor, deferrable fields are called on the thread that executes the request
+         *
+         * @param deferExecutor the executor of the deferred fields
+         * @return the builder after setting the executor of the deferred fields
+         */
+        public Builder setDeferExecutor(Executor deferExecutor) {
+            this.deferExecutor = deferExecutor;
+            return this;
+        }
+
+        /**
+         * Set the tracing configuration the resolvers of the schema are built with. Every annotated method, and every field with a
+         * {@link graphql.annotations.annotationTypes.GraphQLDataFetcher}, records a span per fetch into the recorder of the configuration
+         *
+         * @param tracing the tracing configuration, or null to build the data fetchers without tracing
+         * @return the builder after setting the tracing configuration
+         */
+        public Builder setTracing(Tracing tracing) {
+            this.tracing = tracing;
+            return this;
+        }
+
+        /**
+         * Register every field with a data fetcher that can be replaced at runtime, see {@link SwappableDataFetchers}
+         *
+         * @param swappableDataFetchersEnabled whether the data fetchers of the built schema can be replaced
+         * @return the builder after setting whether the data fetchers can be replaced
+         */
+        public Builder setSwappableDataFetchers(boolean swappableDataFetchersEnabled) {
+            this.swappableDataFetchersEnabled = swappableDataFetchersEnabled;
+            return this;
+        }
+
+        /**
+         * @return the swappable data fetchers of the last built schema, or null if they are not enabled
+         */
+        public SwappableDataFetchers getSwappableDataFetchers() {
+            return this.swappableDataFetchers;
+        }
+
+        /**
+         * @return the bulkheads of the fields annotated with {@link graphql.annotations.annotationTypes.GraphQLBulkhead}, with their live metrics
+         */
+        public BulkheadRegistry getBulkheads() {
+            return this.graphQLAnnotations == null ? null : this.graphQLAnnotations.getContainer().getBulkheads();
+        }
+
         /**
          * @return the graphql annotations processor
          */
@@ -229,6 +417,11 @@ public class AnnotationsSchemaCreator {
         public GraphQLSchema build() {
             assert this.queryObject != null;
 
+            if (this.documentCache != null) {
+                // the cached documents were validated against the previous schema
+                this.documentCache.invalidateAll();
+            }
+
             if (this.graphQLAnnotations == null) {
                 this.graphQLAnnotations = new GraphQLAnnotations();
             }
@@ -237,6 +430,18 @@ public class AnnotationsSchemaCreator {
                 this.graphqlSchemaBuilder = new GraphQLSchema.Builder();
             }
 
+            if (this.instanceProvider != null) {
+                this.graphQLAnnotations.getContainer().setInstanceProvider(this.instanceProvider);
+            }
+
+            if (this.tracing != null) {
+                this.graphQLAnnotations.getContainer().setTracing(this.tracing);
+            }
+
+            if (this.deferExecutor != null) {
+                this.graphQLAnnotations.getContainer().setDeferExecutor(this.deferExecutor);
+            }
+
             this.typeExtensions.forEach(typeExtension -> this.graphQLAnnotations.registerTypeExtension(typeExtension));
             this.typeFunctions.forEach(typeFunction -> this.graphQLAnnotations.registerTypeFunction(typeFunction));
 
@@ -258,6 +463,9 @@ public class AnnotationsSchemaCreator {
             if (this.subscriptionObject != null) {
                 this.graphqlSchemaBuilder.subscription(graphQLAnnotations.object(subscriptionObject));
             }
+            if (this.deferSupportEnabled) {
+                directives.add(Directives.DeferDirective);
+            }
             if (!directives.isEmpty()) {
                 graphqlSchemaBuilder.additionalDirectives(directives);
             }
@@ -269,7 +477,80 @@ public class AnnotationsSchemaCreator {
             DirectiveSchemaVisitor directiveSchemaVisitor = new DirectiveSchemaVisitor(directiveWiringHashMap,
                     graphQLAnnotations.getContainer().getCodeRegistryBuilder(), new TreeTransformerUtilWrapper());
             GraphQLSchema transformedSchema = this.schemaTransformer.transform(schema, directiveSchemaVisitor);
-            return newSchema(transformedSchema).codeRegistry(graphQLAnnotations.getContainer().getCodeRegistryBuilder().build()).build();
+            GraphQLCodeRegistry codeRegistry = graphQLAnnotations.getContainer().getCodeRegistryBuilder().build();
+            if (this.swappableDataFetchersEnabled) {
+                this.swappableDataFetchers = new SwappableDataFetchers();
+                codeRegistry = this.swappableDataFetchers.register(transformedSchema, codeRegistry);
+            }
+            // the schema holds the canonical elements, the interner is only needed while the types are created
+            this.graphQLAnnotations.getContainer().getInterner().clear();
+            return newSchema(transformedSchema).codeRegistry(codeRegistry).build();
+        }
+
+        /**
+         * Build a graphql schema according to the properties provided, and one pruned variant of it per role
+         * Fields annotated with {@link graphql.annotations.annotationTypes.GraphQLVisibleTo} are removed from the schemas of the roles they are not visible to.
+         * Types left without fields are removed together with the fields that return them, and so are the additional types that are no longer reachable.
+         * Only the types that contain removed fields (and the types that reference them) are rebuilt; all the other types and the data fetchers are shared between the schemas.
+         *
+         * @param roles the roles to build schemas for
+         * @return the schema of each role, by role
+         * @throws graphql.annotations.processor.exceptions.GraphQLAnnotationsException if no field of the query type is visible to one of the roles
+         */
+        public Map<String, GraphQLSchema> buildForRoles(String... roles) {
+            GraphQLSchema schema = build();
+            Map<FieldCoordinates, Set<String>> fieldVisibility = this.graphQLAnnotations.getContainer().getFieldVisibility();
+            Map<String, GraphQLSchema> schemas = new LinkedHashMap<>();
+            for (String role : roles) {
+                if (fieldVisibility.isEmpty()) {
+                    schemas.put(role, schema);
+                    continue;
+                }
+                RoleVisibilitySchemaVisitor visitor = new RoleVisibilitySchemaVisitor(schema, fieldVisibility, role);
+                schemas.put(role, this.schemaTransformer.transform(visitor.retainReachableTypes(schema), visitor));
+            }
+            return schemas;
+        }
+
+        /**
+         * Build a graphql schema according to the properties provided, and a GraphQL instance that executes it
+         * The GraphQL instance caches the parsed and validated documents of the executed queries, keyed by the query and the operation name.
+         * Building again creates a new cache and invalidates the previous one.
+         * Use {@link GraphQL#transform} to further configure the GraphQL instance.
+         *
+         * @return a GraphQL instance with a document cache
+         */
+        public GraphQL buildGraphQL() {
+            GraphQLSchema schema = build();
+            this.documentCache = new CachingPreparsedDocumentProvider(this.documentCacheSize);
+            GraphQL.Builder graphQLBuilder = GraphQL.newGraphQL(schema).preparsedDocumentProvider(this.documentCache);
+            if (this.introspectionCacheEnabled) {
+                graphQLBuilder.queryExecutionStrategy(new IntrospectionCachingExecutionStrategy());
+            }
+            List<Instrumentation> instrumentations = new ArrayList<>();
+            if (this.graphQLAnnotations.getContainer().hasMemoizedFields()) {
+                instrumentations.add(new MemoizationInstrumentation());
+            }
+            if (this.maximumQueryCost != null) {
+                instrumentations.add(new QueryCostInstrumentation(this.graphQLAnnotations.getContainer().getFieldCosts(), this.maximumQueryCost));
+            }
+            if (this.requestTimeout != null) {
+                instrumentations.add(new RequestDeadlineInstrumentation(this.requestTimeout));
+            }
+            if (this.nPlusOneDetectionEnabled) {
+                instrumentations.add(new NPlusOneInstrumentation());
+            }
+            if (this.deferSupportEnabled) {
+                instrumentations.add(new DeferSupportInstrumentation());
+            }
+            if (this.cacheControlEnabled) {
+                instrumentations.add(new CacheControlInstrumentation(this.graphQLAnnotations.getContainer().getFieldCacheHints(),
+                        this.graphQLAnnotations.getContainer().getTypeCacheHints()));
+            }
+            if (!instrumentations.isEmpty()) {
+                graphQLBuilder.instrumentation(instrumentations.size() == 1 ? instrumentations.get(0) : new ChainedInstrumentation(instrumentations));
+            }
+            return graphQLBuilder.build();
         }
 
         private HashMap<String, AnnotationsDirectiveWiring> transformDirectiveRegistry(Map<String, DirectiveAndWiring> directiveRegistry) {
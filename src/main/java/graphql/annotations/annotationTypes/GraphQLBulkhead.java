@@ -0,0 +1,51 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.annotationTypes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the number of concurrent calls of a field, or of all the fields of a group with the same name, so that a slow
+ * backend cannot block all the request threads. Calls over the limit wait in a bounded queue; when the queue is full
+ * (or the wait is over), the field fails with a {@link graphql.annotations.execution.BulkheadFullException}
+ * and the rest of the response is still returned.
+ * <p>
+ * Can also be set on a {@link graphql.annotations.connection.ConnectionFetcher} class, to limit all the connection fields that use it.
+ * An asynchronous field holds its permit until its future completes.
+ */
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GraphQLBulkhead {
+    /**
+     * @return the name of the group, which is shared by all the fields with the same name
+     */
+    String name();
+
+    /**
+     * @return the maximal number of concurrent calls of the group
+     */
+    int maxConcurrent();
+
+    /**
+     * @return the maximal number of calls that wait for a permit, 0 to fail as soon as the group is saturated
+     */
+    int queue() default 0;
+
+    /**
+     * @return the maximal time, in milliseconds, a queued call waits for a permit
+     */
+    long maxWaitMillis() default 1000;
+}
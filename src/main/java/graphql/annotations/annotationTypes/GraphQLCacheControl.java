@@ -0,0 +1,35 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.annotationTypes;
+
+import graphql.annotations.execution.CacheScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how long, in seconds, the value of a field, or the fields of a type and the fields that return it, may be
+ * cached, and by whom. The cache policy of a response is computed by {@link graphql.annotations.execution.CacheControlInstrumentation}.
+ */
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GraphQLCacheControl {
+    /**
+     * @return the max age in seconds, or -1 to only set the scope
+     */
+    int maxAge() default -1;
+
+    CacheScope scope() default CacheScope.PUBLIC;
+}
@@ -0,0 +1,30 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.annotationTypes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the cost of resolving a field, which is used by {@link graphql.annotations.execution.QueryCostInstrumentation}
+ * to reject queries that are too expensive. Fields without this annotation cost {@link graphql.annotations.execution.FieldCost#DEFAULT_COST}.
+ * The cost of the selections of a {@link graphql.annotations.connection.GraphQLConnection} field is multiplied by
+ * the requested page size (the `first` or `last` argument).
+ */
+@Target({ElementType.METHOD, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GraphQLCost {
+    int value();
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import graphql.relay.ConnectionCursor;
+import graphql.relay.Edge;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An edge which is its own cursor, so that a single object is allocated per entity.
+ * The cursor is computed from the entity on first use. Two edges are equal if they hold the same node (by identity)
+ * and the same cursor function, so comparing edges never computes their cursors; compare the values returned by
+ * {@link #getValue()} to compare cursors.
+ *
+ * @param <T> the type of the entity
+ */
+public class LazyCursorEdge<T> implements Edge<T>, ConnectionCursor {
+    private final T node;
+    private final Function<T, String> cursorFunction;
+    private String value;
+
+    public LazyCursorEdge(T node, Function<T, String> cursorFunction) {
+        this.node = node;
+        this.cursorFunction = cursorFunction;
+    }
+
+    @Override
+    public T getNode() {
+        return node;
+    }
+
+    @Override
+    public ConnectionCursor getCursor() {
+        return this;
+    }
+
+    @Override
+    public String getValue() {
+        String cursor = value;
+        if (cursor == null) {
+            cursor = cursorFunction.apply(node);
+            value = cursor;
+        }
+        return cursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyCursorEdge)) {
+            return false;
+        }
+        LazyCursorEdge<?> other = (LazyCursorEdge<?>) o;
+        return node == other.node && Objects.equals(cursorFunction, other.cursorFunction);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(node) + Objects.hashCode(cursorFunction);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -17,22 +17,30 @@ package graphql.annotations.connection;
 import graphql.relay.*;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Use this class in {@link GraphQLConnection} to do a real pagination,
  * i.e you fetch each time the relevant data, you make the cursors and
  * you decide if there are previous or next pages
  * <p>
+ * The cursors are computed lazily, only when a cursor (of an edge, or the start or end cursor of the page info) is
+ * actually resolved, and the edges are not built at all when only the page info is selected.
+ * <p>
  * Note: If you are using the connection, the return type of the associated dataFetcher must implement {@link PaginatedData}
  *
  * @param <T> the entity type that is paginated
  */
 public class PaginatedDataConnectionFetcher<T> implements ConnectionFetcher<T> {
+    private static final String PAGE_INFO = "pageInfo";
+    private static final String TYPENAME = "__typename";
 
     private DataFetcher<PaginatedData<T>> paginationDataFetcher;
 
@@ -46,11 +54,29 @@ public class PaginatedDataConnectionFetcher<T> implements ConnectionFetcher<T> {
         if (paginatedData == null) {
             return new DefaultConnection<>(Collections.emptyList(), new DefaultPageInfo(null,null,false,false));
         }
+        if (!isEdgesSelected(environment.getSelectionSet())) {
+            return new DefaultConnection<>(Collections.emptyList(), getPageInfo(paginatedData));
+        }
         List<Edge<T>> edges = buildEdges(paginatedData);
         PageInfo pageInfo = getPageInfo(edges, paginatedData);
         return new DefaultConnection<>(edges, pageInfo);
     }
 
+    /**
+     * @return false only if nothing but the page info is selected, as connection types other than the default one may derive other fields from the edges
+     */
+    private boolean isEdgesSelected(DataFetchingFieldSelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return true;
+        }
+        for (SelectedField field : selectionSet.getImmediateFields()) {
+            if (!PAGE_INFO.equals(field.getName()) && !TYPENAME.equals(field.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private PageInfo getPageInfo(List<Edge<T>> edges, PaginatedData<T> paginatedData) {
         if (edges.isEmpty()) {
             return new DefaultPageInfo(null,null,false,false);
@@ -65,12 +91,30 @@ public class PaginatedDataConnectionFetcher<T> implements ConnectionFetcher<T> {
         );
     }
 
+    private PageInfo getPageInfo(PaginatedData<T> paginatedData) {
+        Iterator<T> data = paginatedData.iterator();
+        if (!data.hasNext()) {
+            return new DefaultPageInfo(null,null,false,false);
+        }
+        T first = data.next();
+        T last = first;
+        while (data.hasNext()) {
+            last = data.next();
+        }
+        return new DefaultPageInfo(
+                new LazyCursorEdge<>(first, paginatedData::getCursor),
+                new LazyCursorEdge<>(last, paginatedData::getCursor),
+                paginatedData.hasPreviousPage(),
+                paginatedData.hasNextPage()
+        );
+    }
+
     private List<Edge<T>> buildEdges(PaginatedData<T> paginatedData) {
         Iterator<T> data = paginatedData.iterator();
+        Function<T, String> cursorFunction = paginatedData::getCursor;
         List<Edge<T>> edges = new ArrayList<>();
         for (; data.hasNext(); ) {
-            T entity = data.next();
-            edges.add(new DefaultEdge<>(entity, new DefaultConnectionCursor(paginatedData.getCursor(entity))));
+            edges.add(new LazyCursorEdge<>(data.next(), cursorFunction));
         }
         return edges;
     }
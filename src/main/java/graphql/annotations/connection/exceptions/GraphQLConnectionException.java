@@ -19,4 +19,8 @@ public class GraphQLConnectionException extends RuntimeException {
     public GraphQLConnectionException(String error) {
         super(error);
     }
+
+    public GraphQLConnectionException(String error, Throwable cause) {
+        super(error, cause);
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@link KeysetSource} over a snapshot of entities held in memory, sorted by their key once, when it is created.
+ * Fetching a page is a binary search for the key followed by a view of the page, so it does not depend on how deep the page is.
+ * The keys must be unique, and their values {@link Comparable} (nulls come first).
+ * A key to fetch from (usually decoded from a cursor) must have the length and the value types of the keys of the entities.
+ *
+ * @param <T> the type of the entities
+ */
+public class InMemoryKeysetSource<T> implements KeysetSource<T> {
+    private final Function<T, Object[]> keyFunction;
+    private final List<T> entities;
+    private final SortedKeys keys;
+
+    /**
+     * @param entities    the entities, in any order
+     * @param keyFunction the function that gives the sort key of an entity
+     */
+    public InMemoryKeysetSource(Collection<T> entities, Function<T, Object[]> keyFunction) {
+        this.keyFunction = keyFunction;
+        List<T> sorted = new ArrayList<>(entities);
+        sorted.sort(Comparator.comparing(keyFunction, SortedKeys::compare));
+        this.entities = Collections.unmodifiableList(sorted);
+        Object[][] sortedKeys = new Object[sorted.size()][];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            sortedKeys[i] = keyFunction.apply(sorted.get(i));
+        }
+        this.keys = new SortedKeys(sortedKeys);
+    }
+
+    @Override
+    public Object[] getKey(T entity) {
+        return keyFunction.apply(entity);
+    }
+
+    @Override
+    public List<T> fetchAfter(Object[] key, int limit) {
+        int from = key == null ? 0 : keys.search(key, false);
+        return entities.subList(from, (int) Math.min(entities.size(), (long) from + limit));
+    }
+
+    @Override
+    public List<T> fetchBefore(Object[] key, int limit) {
+        int to = key == null ? entities.size() : keys.search(key, true);
+        return entities.subList((int) Math.max(0, (long) to - limit), to);
+    }
+
+    public int size() {
+        return entities.size();
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import graphql.annotations.connection.ConnectionFetcher;
+import graphql.annotations.connection.LazyCursorEdge;
+import graphql.annotations.connection.exceptions.GraphQLConnectionException;
+import graphql.relay.Connection;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Use this class in {@link graphql.annotations.connection.GraphQLConnection} to do keyset pagination over a {@link KeysetSource}:
+ * the cursors encode the sort key of the entities, and a page is fetched from the key of the cursor on, so fetching
+ * a deep page costs as much as fetching the first one.
+ * <p>
+ * One entity more than the page size is fetched, to tell whether there is a next page (or a previous page when paging
+ * backwards with {@code last}). Without {@code first} and {@code last}, the first {@link #DEFAULT_PAGE_SIZE} entities are fetched.
+ * A page is either fetched forwards ({@code first} and {@code after}) or backwards ({@code last} and {@code before}),
+ * so the arguments of the two directions cannot be combined.
+ *
+ * @param <T> the entity type that is paginated
+ */
+public class KeysetConnectionFetcher<T> implements ConnectionFetcher<T> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final DataFetcher<KeysetSource<T>> keysetSourceDataFetcher;
+
+    public KeysetConnectionFetcher(DataFetcher<KeysetSource<T>> keysetSourceDataFetcher) {
+        this.keysetSourceDataFetcher = keysetSourceDataFetcher;
+    }
+
+    @Override
+    public Connection<T> get(DataFetchingEnvironment environment) throws Exception {
+        KeysetSource<T> source = keysetSourceDataFetcher.get(environment);
+        if (source == null) {
+            return new DefaultConnection<>(Collections.emptyList(), new DefaultPageInfo(null, null, false, false));
+        }
+        Integer first = environment.getArgument("first");
+        Integer last = environment.getArgument("last");
+        String after = environment.getArgument("after");
+        String before = environment.getArgument("before");
+        checkDirection(first, last, after, before);
+
+        List<T> entities;
+        boolean hasPreviousPage;
+        boolean hasNextPage;
+        if (last != null || before != null) {
+            int limit = last == null ? DEFAULT_PAGE_SIZE : checkPageSize("last", last);
+            List<T> fetched = source.fetchBefore(before == null ? null : KeysetCursor.decode(before), withExtraRow(limit));
+            hasPreviousPage = fetched.size() > limit;
+            entities = hasPreviousPage ? fetched.subList(fetched.size() - limit, fetched.size()) : fetched;
+            hasNextPage = before != null;
+        } else {
+            int limit = first == null ? DEFAULT_PAGE_SIZE : checkPageSize("first", first);
+            List<T> fetched = source.fetchAfter(after == null ? null : KeysetCursor.decode(after), withExtraRow(limit));
+            hasNextPage = fetched.size() > limit;
+            entities = hasNextPage ? fetched.subList(0, limit) : fetched;
+            hasPreviousPage = after != null;
+        }
+
+        Function<T, String> cursorFunction = entity -> KeysetCursor.encode(source.getKey(entity));
+        List<Edge<T>> edges = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            edges.add(new LazyCursorEdge<>(entity, cursorFunction));
+        }
+        return new DefaultConnection<>(edges, getPageInfo(edges, hasPreviousPage, hasNextPage));
+    }
+
+    private PageInfo getPageInfo(List<Edge<T>> edges, boolean hasPreviousPage, boolean hasNextPage) {
+        if (edges.isEmpty()) {
+            return new DefaultPageInfo(null, null, hasPreviousPage, hasNextPage);
+        }
+        return new DefaultPageInfo(
+                edges.get(0).getCursor(),
+                edges.get(edges.size() - 1).getCursor(),
+                hasPreviousPage,
+                hasNextPage
+        );
+    }
+
+    private static void checkDirection(Integer first, Integer last, String after, String before) {
+        if ((first != null || after != null) && (last != null || before != null)) {
+            throw new GraphQLConnectionException("Keyset pagination fetches either forwards (first, after) or backwards (last, before), "
+                    + "the arguments of both directions cannot be combined");
+        }
+    }
+
+    private static int checkPageSize(String argument, int pageSize) {
+        if (pageSize < 0) {
+            throw new GraphQLConnectionException(argument + " must not be negative: " + pageSize);
+        }
+        return pageSize;
+    }
+
+    private static int withExtraRow(int limit) {
+        return limit == Integer.MAX_VALUE ? limit : limit + 1;
+    }
+}
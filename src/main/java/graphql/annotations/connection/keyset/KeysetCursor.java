@@ -0,0 +1,128 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import graphql.annotations.connection.exceptions.GraphQLConnectionException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes sort key tuples into opaque cursors, and decodes them back with the types of their values.
+ * The supported values are null, {@link String}, {@link Integer}, {@link Long}, {@link Double}, {@link Boolean},
+ * {@link BigDecimal}, {@link BigInteger}, {@link UUID}, {@link Instant} and {@link LocalDate}.
+ */
+public final class KeysetCursor {
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param key a sort key tuple
+     * @return the cursor of the key
+     */
+    public static String encode(Object[] key) {
+        StringBuilder encoded = new StringBuilder();
+        for (Object value : key) {
+            String text = value == null ? "" : value.toString();
+            encoded.append(getTag(value)).append(text.length()).append(':').append(text);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor a cursor made by {@link #encode(Object[])}
+     * @return the sort key tuple of the cursor
+     * @throws GraphQLConnectionException if the cursor is invalid
+     */
+    public static Object[] decode(String cursor) {
+        try {
+            String encoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<Object> key = new ArrayList<>();
+            int position = 0;
+            while (position < encoded.length()) {
+                char tag = encoded.charAt(position);
+                int separator = encoded.indexOf(':', position + 1);
+                int length = Integer.parseInt(encoded.substring(position + 1, separator));
+                String text = encoded.substring(separator + 1, separator + 1 + length);
+                key.add(parse(tag, text));
+                position = separator + 1 + length;
+            }
+            return key.toArray();
+        } catch (RuntimeException e) {
+            throw new GraphQLConnectionException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static char getTag(Object value) {
+        if (value == null) {
+            return 'n';
+        } else if (value instanceof String) {
+            return 's';
+        } else if (value instanceof Integer) {
+            return 'i';
+        } else if (value instanceof Long) {
+            return 'l';
+        } else if (value instanceof Double) {
+            return 'd';
+        } else if (value instanceof Boolean) {
+            return 'b';
+        } else if (value instanceof BigDecimal) {
+            return 'D';
+        } else if (value instanceof BigInteger) {
+            return 'I';
+        } else if (value instanceof UUID) {
+            return 'u';
+        } else if (value instanceof Instant) {
+            return 't';
+        } else if (value instanceof LocalDate) {
+            return 'a';
+        }
+        throw new GraphQLConnectionException("Unsupported key type " + value.getClass().getName());
+    }
+
+    private static Object parse(char tag, String text) {
+        switch (tag) {
+            case 'n':
+                return null;
+            case 's':
+                return text;
+            case 'i':
+                return Integer.valueOf(text);
+            case 'l':
+                return Long.valueOf(text);
+            case 'd':
+                return Double.valueOf(text);
+            case 'b':
+                return Boolean.valueOf(text);
+            case 'D':
+                return new BigDecimal(text);
+            case 'I':
+                return new BigInteger(text);
+            case 'u':
+                return UUID.fromString(text);
+            case 't':
+                return Instant.parse(text);
+            case 'a':
+                return LocalDate.parse(text);
+            default:
+                throw new IllegalArgumentException("Unknown key type " + tag);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import java.util.List;
+
+/**
+ * A source of entities that are sorted by a unique key, and can be fetched from any key on (keyset pagination),
+ * e.g. a repository which queries {@code WHERE (created, id) > (?, ?) ORDER BY created, id LIMIT ?}.
+ * Return it from a field annotated with {@code @GraphQLConnection(connectionFetcher = KeysetConnectionFetcher.class, validator = KeysetSourceConnectionTypeValidator.class)}.
+ * <p>
+ * A key is a tuple of values (see {@link KeysetCursor} for the supported types), which is encoded into the cursors.
+ *
+ * @param <T> the type of the entities
+ */
+public interface KeysetSource<T> {
+    /**
+     * @param entity an entity of the source
+     * @return the sort key of the entity
+     */
+    Object[] getKey(T entity);
+
+    /**
+     * @param key   the key to fetch after, or null to fetch from the first entity
+     * @param limit the maximal number of entities to fetch
+     * @return the entities whose key is greater than the given key, in ascending key order
+     */
+    List<T> fetchAfter(Object[] key, int limit);
+
+    /**
+     * @param key   the key to fetch before, or null to fetch up to the last entity
+     * @param limit the maximal number of entities to fetch
+     * @return the entities whose key is the closest below the given key, in ascending key order
+     */
+    List<T> fetchBefore(Object[] key, int limit);
+}
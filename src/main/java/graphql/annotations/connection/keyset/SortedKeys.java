@@ -0,0 +1,100 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import graphql.annotations.connection.exceptions.GraphQLConnectionException;
+
+/**
+ * Sort keys in ascending order, searched by a binary search.
+ * Keys are compared value by value, the values are {@link Comparable}, nulls come first, and a key comes before the
+ * longer keys it is a prefix of.
+ */
+final class SortedKeys {
+    private final Object[][] keys;
+    private final Class<?>[] keyTypes;
+
+    /**
+     * @param keys the keys, sorted by {@link #compare(Object[], Object[])}
+     */
+    SortedKeys(Object[][] keys) {
+        this.keys = keys;
+        this.keyTypes = keys.length == 0 ? null : new Class<?>[keys[0].length];
+        for (Object[] key : keys) {
+            for (int i = 0; i < keyTypes.length && i < key.length; i++) {
+                if (keyTypes[i] == null && key[i] != null) {
+                    keyTypes[i] = key[i].getClass();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param key       the key to search for, which must have the length and the value types of the sorted keys
+     * @param inclusive whether a key equal to the given key is included
+     * @return the index of the first key that is greater than the given key (or equal to it, if inclusive)
+     * @throws GraphQLConnectionException if the key does not match the sorted keys
+     */
+    int search(Object[] key, boolean inclusive) {
+        checkKey(key);
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(keys[middle], key);
+            if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void checkKey(Object[] key) {
+        if (keyTypes == null) {
+            return;
+        }
+        if (key.length != keyTypes.length) {
+            throw new GraphQLConnectionException("The key has " + key.length + " values, but the keys of the source have " + keyTypes.length);
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != null && keyTypes[i] != null && !keyTypes[i].isInstance(key[i])) {
+                throw new GraphQLConnectionException("Value " + i + " of the key is a " + key[i].getClass().getName()
+                        + ", but the keys of the source hold a " + keyTypes[i].getName());
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object[] first, Object[] second) {
+        int length = Math.min(first.length, second.length);
+        for (int i = 0; i < length; i++) {
+            Object a = first[i];
+            Object b = second[i];
+            if (a == b) {
+                continue;
+            }
+            if (a == null) {
+                return -1;
+            }
+            if (b == null) {
+                return 1;
+            }
+            int comparison = ((Comparable) a).compareTo(b);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+}
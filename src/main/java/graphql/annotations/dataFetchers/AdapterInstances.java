@@ -0,0 +1,67 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static graphql.annotations.processor.util.ReflectionKit.newInstance;
+
+/**
+ * Holds the adapter objects (type extensions, or declaring classes of methods whose source is of another class)
+ * that were created during a single execution.
+ * An adapter is created once per (adapter class, source object) and is reused by all the fields resolved on that
+ * source object. The instances are stored in the {@link GraphQLContext} of the execution, so they are released
+ * together with it when the request ends.
+ */
+public class AdapterInstances {
+    private static final String CONTEXT_KEY = AdapterInstances.class.getName();
+
+    private final Map<Object, Map<Class<?>, Object>> instances = new IdentityHashMap<>();
+
+    /**
+     * @param adapterClass the class to construct out of the source object
+     * @param environment  the data fetching environment, which holds the source object and the execution context
+     * @param <T>          the type of the adapter
+     * @return the adapter of the source object, or null if the adapter class cannot be constructed out of it
+     */
+    public static <T> T getInstance(Class<T> adapterClass, DataFetchingEnvironment environment) {
+        Object source = environment.getSource();
+        GraphQLContext context = environment.getGraphQLContext();
+        if (source == null || context == null) {
+            return newInstance(adapterClass, source);
+        }
+        AdapterInstances adapterInstances = context.computeIfAbsent(CONTEXT_KEY, key -> new AdapterInstances());
+        return adapterInstances.get(adapterClass, source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Class<T> adapterClass, Object source) {
+        synchronized (instances) {
+            Map<Class<?>, Object> sourceInstances = instances.get(source);
+            if (sourceInstances != null && sourceInstances.containsKey(adapterClass)) {
+                return (T) sourceInstances.get(adapterClass);
+            }
+        }
+        T instance = newInstance(adapterClass, source);
+        synchronized (instances) {
+            Map<Class<?>, Object> sourceInstances = instances.computeIfAbsent(source, key -> new HashMap<>());
+            Object existing = sourceInstances.putIfAbsent(adapterClass, instance);
+            return existing != null ? (T) existing : instance;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.execution.Bulkhead;
+import graphql.annotations.execution.BulkheadFullException;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Calls a data fetcher within a {@link Bulkhead}, and fails the field with a {@link BulkheadFullException} when the bulkhead rejects the call.
+ * A data fetcher that returns a {@link CompletionStage} holds its permit until the stage completes.
+ */
+public class BulkheadDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private final DataFetcher<?> dataFetcher;
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataFetcher(DataFetcher<?> dataFetcher, Bulkhead bulkhead) {
+        this.dataFetcher = dataFetcher;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        if (!bulkhead.tryAcquire()) {
+            throw new BulkheadFullException(environment, bulkhead);
+        }
+        boolean releaseNow = true;
+        try {
+            Object value = dataFetcher.get(environment);
+            if (value instanceof CompletionStage) {
+                releaseNow = false;
+                // the stage itself is returned, so cancelling it still reaches the data fetcher's future
+                ((CompletionStage<?>) value).whenComplete((result, throwable) -> bulkhead.release());
+            }
+            return value;
+        } finally {
+            if (releaseNow) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * @return the data fetcher called within the bulkhead
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+}
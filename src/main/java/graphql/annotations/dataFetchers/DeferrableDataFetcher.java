@@ -0,0 +1,89 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.execution.MergedField;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Calls the data fetcher of a {@link graphql.annotations.annotationTypes.GraphQLDeferrable} field on an executor when
+ * the field is selected only in {@code @defer} fragments of a request executed with incremental delivery
+ * (see {@link ExperimentalApi#ENABLE_INCREMENTAL_SUPPORT}), so a slow synchronous method does not hold up the initial
+ * response while its deferred fragment is pending. Otherwise the data fetcher is called directly.
+ * <p>
+ * The executor is owned by the caller, who is responsible for bounding and shutting it down.
+ */
+public class DeferrableDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private final DataFetcher<?> dataFetcher;
+    private final Executor executor;
+
+    /**
+     * @param dataFetcher the data fetcher of the field
+     * @param executor    the executor the data fetcher is called on when the field is deferred
+     */
+    public DeferrableDataFetcher(DataFetcher<?> dataFetcher, Executor executor) {
+        this.dataFetcher = dataFetcher;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        GraphQLContext context = environment.getGraphQLContext();
+        if (context == null || !Boolean.TRUE.equals(context.get(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT)) || !isDeferred(environment)) {
+            return dataFetcher.get(environment);
+        }
+        return CompletableFuture.<Object>supplyAsync(() -> {
+            try {
+                return dataFetcher.get(environment);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenCompose(value -> value instanceof CompletionStage
+                ? (CompletionStage<Object>) value : CompletableFuture.completedFuture(value));
+    }
+
+    private static boolean isDeferred(DataFetchingEnvironment environment) {
+        MergedField field = environment.getMergedField();
+        if (field == null) {
+            return false;
+        }
+        // as in the execution of graphql-java, a field is deferred only if all of its occurrences are in deferred fragments
+        List<?> deferredExecutions = field.getDeferredExecutions();
+        return !deferredExecutions.isEmpty() && deferredExecutions.size() >= field.getFields().size();
+    }
+
+    /**
+     * @return the data fetcher called on the executor
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.schema.DataFetcher;
+
+/**
+ * A data fetcher that wraps another data fetcher (e.g. to add a timeout, a bulkhead or memoization), and delegates
+ * the fetching to it
+ */
+public interface DelegatingDataFetcher {
+
+    /**
+     * @return the wrapped data fetcher
+     */
+    DataFetcher<?> getDelegate();
+
+    /**
+     * @param dataFetcher a data fetcher, which may be wrapped in any number of delegating data fetchers
+     * @return the innermost data fetcher
+     */
+    static DataFetcher<?> unwrap(DataFetcher<?> dataFetcher) {
+        while (dataFetcher instanceof DelegatingDataFetcher) {
+            dataFetcher = ((DelegatingDataFetcher) dataFetcher).getDelegate();
+        }
+        return dataFetcher;
+    }
+}
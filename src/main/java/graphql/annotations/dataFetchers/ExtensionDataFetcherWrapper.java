@@ -19,10 +19,10 @@ import graphql.schema.DataFetchingEnvironment;
 
 import java.util.Map;
 
-import static graphql.annotations.processor.util.ReflectionKit.newInstance;
+import static graphql.annotations.dataFetchers.AdapterInstances.getInstance;
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
 
-public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T> {
+public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T>, DelegatingDataFetcher {
 
     private final Class declaringClass;
 
@@ -37,7 +37,7 @@ public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T> {
     public T get(DataFetchingEnvironment environment) throws Exception {
         Object source = environment.getSource();
         if (source != null && (!declaringClass.isInstance(source)) && !(source instanceof Map)) {
-            environment = newDataFetchingEnvironment(environment).source(newInstance(declaringClass, source)).build();
+            environment = newDataFetchingEnvironment(environment).source(getInstance(declaringClass, environment)).build();
         }
         return dataFetcher.get(environment);
     }
@@ -46,4 +46,9 @@ public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T> {
         return dataFetcher;
     }
 
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
 }
@@ -0,0 +1,106 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.TrivialDataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads a Java field directly, through a {@link VarHandle} that is bound once, when the schema is built.
+ * Volatile fields are read with volatile semantics.
+ * Sources that are not instances of the declaring class of the field (such as maps), and instances of subclasses that
+ * declare a getter of the field, are resolved by a {@link PropertyDataFetcher}, as are all the sources if the field is
+ * not accessible through a var handle.
+ */
+public class FieldAccessDataFetcher implements TrivialDataFetcher<Object> {
+    private final Field field;
+    private final MethodHandle getter;
+    private final PropertyDataFetcher<Object> propertyDataFetcher;
+    private final ClassValue<Boolean> subclassGetters = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return hasGetter(type);
+        }
+    };
+
+    public FieldAccessDataFetcher(Field field) {
+        this.field = field;
+        this.getter = getterOf(field);
+        this.propertyDataFetcher = new PropertyDataFetcher<>(field.getName());
+    }
+
+    private static MethodHandle getterOf(Field field) {
+        try {
+            VarHandle varHandle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+            MethodHandle handle = varHandle.toMethodHandle(Modifier.isVolatile(field.getModifiers())
+                    ? VarHandle.AccessMode.GET_VOLATILE : VarHandle.AccessMode.GET);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Object source = environment.getSource();
+        if (getter == null || !field.getDeclaringClass().isInstance(source)
+                || source.getClass() != field.getDeclaringClass() && subclassGetters.get(source.getClass())) {
+            return propertyDataFetcher.get(environment);
+        }
+        try {
+            return (Object) getter.invokeExact(source);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean hasGetter(Class<?> type) {
+        String name = field.getName();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        return hasPublicMethod(type, "get" + capitalized) || hasPublicMethod(type, name)
+                || (field.getType() == boolean.class || field.getType() == Boolean.class) && hasPublicMethod(type, "is" + capitalized);
+    }
+
+    private static boolean hasPublicMethod(Class<?> type, String name) {
+        try {
+            type.getMethod(name);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return whether the field is read through a var handle, rather than by a property data fetcher
+     */
+    public boolean isDirect() {
+        return getter != null;
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.GraphQLContext;
+import graphql.execution.ExecutionId;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes the values of a data fetcher for the length of a request, by source object (compared by identity) and arguments.
+ * The values are stored in the {@link GraphQLContext} of the execution, so they are released together with it when
+ * the request ends. A context that is reused for several requests must be cleared with {@link #clear(GraphQLContext, ExecutionId)}
+ * after each one, as {@link graphql.annotations.execution.MemoizationInstrumentation} does. Once a request is cleared, its
+ * fields that are still fetched (such as deferred fields) are not memoized, and the values of a request are never served
+ * to another one. A {@link java.util.concurrent.CompletionStage} is memoized as is, so the selections that come after
+ * the first one share its future while it is in flight. A data fetcher that throws is not memoized.
+ */
+public class MemoizingDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private static final String CONTEXT_KEY = MemoizingDataFetcher.class.getName();
+    private static final String COMPLETED_KEY = CONTEXT_KEY + ".completed";
+    private static final Object NULL = new Object();
+
+    private final DataFetcher<?> dataFetcher;
+
+    public MemoizingDataFetcher(DataFetcher<?> dataFetcher) {
+        this.dataFetcher = dataFetcher;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        GraphQLContext context = environment.getGraphQLContext();
+        if (context == null) {
+            return dataFetcher.get(environment);
+        }
+        ExecutionId executionId = environment.getExecutionId();
+        if (executionId != null && executionId.equals(context.get(COMPLETED_KEY))) {
+            return dataFetcher.get(environment);
+        }
+        Map<Key, Object> values = getValues(context, executionId);
+        Key key = new Key(this, environment.getSource(), environment.getArguments());
+        Object value = values.get(key);
+        if (value == null) {
+            value = dataFetcher.get(environment);
+            Object existing = values.putIfAbsent(key, value == null ? NULL : value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return value == NULL ? null : value;
+    }
+
+    private static Map<Key, Object> getValues(GraphQLContext context, ExecutionId executionId) {
+        Values values = context.get(CONTEXT_KEY);
+        if (values == null || !Objects.equals(values.executionId, executionId)) {
+            values = context.compute(CONTEXT_KEY, (key, current) ->
+                    current != null && Objects.equals(current.executionId, executionId) ? current : new Values(executionId));
+        }
+        return values.values;
+    }
+
+    /**
+     * Releases the values memoized in a context, and stops memoizing the fields of the request
+     *
+     * @param context     the context of a completed request
+     * @param executionId the id of the completed request
+     */
+    public static void clear(GraphQLContext context, ExecutionId executionId) {
+        if (context != null) {
+            if (executionId != null) {
+                context.put(COMPLETED_KEY, executionId);
+            }
+            context.delete(CONTEXT_KEY);
+        }
+    }
+
+    /**
+     * @return the data fetcher whose values are memoized
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
+    private static final class Values {
+        private final ExecutionId executionId;
+        private final Map<Key, Object> values = new ConcurrentHashMap<>();
+
+        Values(ExecutionId executionId) {
+            this.executionId = executionId;
+        }
+    }
+
+    private static final class Key {
+        private final MemoizingDataFetcher field;
+        private final Object source;
+        private final Map<String, Object> arguments;
+        private final int hashCode;
+
+        Key(MemoizingDataFetcher field, Object source, Map<String, Object> arguments) {
+            this.field = field;
+            this.source = source;
+            this.arguments = arguments;
+            this.hashCode = 31 * (31 * System.identityHashCode(field) + System.identityHashCode(source)) + arguments.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return field == other.field && source == other.source && Objects.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
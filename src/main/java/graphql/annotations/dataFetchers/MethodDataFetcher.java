@@ -12,9 +12,11 @@
  */
 package graphql.annotations.dataFetchers;
 
-import graphql.annotations.annotationTypes.GraphQLConstructor;
 import graphql.annotations.annotationTypes.GraphQLInvokeDetached;
-import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.dataFetchers.arguments.ArgumentsBinding;
+import graphql.annotations.instances.InstanceFactory;
+import graphql.annotations.instances.InstanceManager;
+import graphql.annotations.instances.InstanceScope;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.schema.*;
@@ -22,11 +24,8 @@ import graphql.schema.*;
 import java.lang.reflect.*;
 import java.util.*;
 
-import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
 import static graphql.annotations.processor.util.PrefixesUtil.addPrefixToPropertyName;
 import static graphql.annotations.processor.util.PrefixesUtil.extractPrefixedName;
-import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
-import static graphql.annotations.processor.util.ReflectionKit.newInstance;
 
 
 /**
@@ -51,12 +50,29 @@ public class MethodDataFetcher<T> implements DataFetcher<T> {
     private final Method method;
     private final ProcessingElementsContainer container;
     private final TypeFunction typeFunction;
+    private final InstanceFactory<?> detachedInstanceFactory;
+    private final MethodInvoker invoker;
+    private volatile ArgumentsBinding binding;
 
 
     public MethodDataFetcher(Method method, TypeFunction typeFunction, ProcessingElementsContainer container) {
         this.method = method;
         this.typeFunction = typeFunction;
         this.container = container;
+        this.invoker = new MethodInvoker(method);
+        if (!Modifier.isStatic(method.getModifiers()) && method.isAnnotationPresent(GraphQLInvokeDetached.class)) {
+            InstanceManager instanceManager = container != null ? container.getInstanceManager() : new InstanceManager();
+            this.detachedInstanceFactory = instanceManager.getInstanceFactory(method.getDeclaringClass(), InstanceScope.CALL);
+        } else {
+            this.detachedInstanceFactory = null;
+        }
+    }
+
+    /**
+     * @return the method the field is fetched with
+     */
+    public Method getMethod() {
+        return method;
     }
 
     @Override
@@ -64,11 +80,11 @@ public class MethodDataFetcher<T> implements DataFetcher<T> {
         try {
             T obj;
             if (Modifier.isStatic(method.getModifiers())) {
-                return (T) method.invoke(null, invocationArgs(environment, container));
-            } else if (method.isAnnotationPresent(GraphQLInvokeDetached.class)) {
-                obj = newInstance((Class<T>) method.getDeclaringClass());
+                return (T) invoker.invoke(null, invocationArgs(environment));
+            } else if (detachedInstanceFactory != null) {
+                obj = (T) detachedInstanceFactory.getInstance(environment);
             } else if (!method.getDeclaringClass().isInstance(environment.getSource())) {
-                obj = newInstance((Class<T>) method.getDeclaringClass(), environment.getSource());
+                obj = AdapterInstances.getInstance((Class<T>) method.getDeclaringClass(), environment);
             } else {
                 obj = environment.getSource();
                 if (obj == null) {
@@ -81,115 +97,20 @@ public class MethodDataFetcher<T> implements DataFetcher<T> {
                 return (T) value;
             }
 
-            return (T) method.invoke(obj, invocationArgs(environment, container));
+            return (T) invoker.invoke(obj, invocationArgs(environment));
         } catch (IllegalAccessException | InvocationTargetException | NoSuchFieldException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Object[] invocationArgs(DataFetchingEnvironment environment, ProcessingElementsContainer container) {
-        List<Object> result = new ArrayList<>();
-        Map<String, Object> envArgs = environment.getArguments();
-        for (Parameter p : method.getParameters()) {
-            String parameterName;
-            GraphQLName name = p.getAnnotation(GraphQLName.class);
-            if (name != null) {
-                parameterName = toGraphqlName(name.value());
-            } else {
-                parameterName = toGraphqlName(p.getName());
-            }
-
-            Class<?> paramType = p.getType();
-            if (DataFetchingEnvironment.class.isAssignableFrom(paramType)) {
-                result.add(environment);
-                continue;
-            }
-
-            graphql.schema.GraphQLType graphQLType = typeFunction.buildType(true, paramType, p.getAnnotatedType(), container);
-            if (envArgs.containsKey(parameterName)) {
-                result.add(buildArg(p.getParameterizedType(), graphQLType, envArgs.get(parameterName)));
-            } else {
-                result.add(null);
-            }
-        }
-        return result.toArray();
-    }
-
-    private Object buildArg(Type p, GraphQLType graphQLType, Object arg) {
-        if (arg == null) {
-            // for Optional parameters null should be returned as Optional.empty() to show a request for a null value
-            // and not including the parameter in the query at all should be returned as null to show "undefined" value / not set
-              if (p instanceof ParameterizedType && ((ParameterizedType) p).getRawType() == Optional.class) {
-                return Optional.empty();
-            }
-            return null;
-        }
-        if (graphQLType instanceof graphql.schema.GraphQLNonNull) {
-            graphQLType = ((graphql.schema.GraphQLNonNull) graphQLType).getWrappedType();
+    private Object[] invocationArgs(DataFetchingEnvironment environment) {
+        ArgumentsBinding binding = this.binding;
+        if (binding == null) {
+            // compiled on first use, as the types of the arguments may still be in process while the data fetcher is created
+            binding = ArgumentsBinding.forMethod(method, typeFunction, container);
+            this.binding = binding;
         }
-        if (p instanceof Class<?> && graphQLType instanceof GraphQLInputObjectType) {
-            Constructor<?> constructors[] = ((Class) p).getConstructors();
-            Constructor<?> constructor = getBuildArgConstructor(constructors);
-            Parameter[] parameters = constructor.getParameters();
-            if (parameters.length == 1 && parameters[0].getType().isAssignableFrom(arg.getClass())) {
-                return constructNewInstance(constructor, arg);
-            } else {
-                List<Object> objects = new ArrayList<>();
-                Map map = (Map) arg;
-                for (Parameter parameter : parameters) {
-                    String name = toGraphqlName(parameter.getAnnotation(GraphQLName.class) != null ? parameter.getAnnotation(GraphQLName.class).value() : parameter.getName());
-                    // There is a difference between not having a parameter in the query and having it with a null value
-                    // If the value is not given, it will always be null, but if the value is given as null and the parameter is optional, it will be Optional.empty()
-                    if (!map.containsKey(name)) {
-                        objects.add(null);
-                    } else {
-                        objects.add(buildArg(parameter.getParameterizedType(), ((GraphQLInputObjectType) graphQLType).getField(name).getType(), map.get(name)));
-                    }
-                }
-                return constructNewInstance(constructor, objects.toArray(new Object[objects.size()]));
-            }
-        } else if (p instanceof ParameterizedType && graphQLType instanceof GraphQLList) {
-            List<Object> list = new ArrayList<>();
-            Type subType = ((ParameterizedType) p).getActualTypeArguments()[0];
-            GraphQLType wrappedType = ((GraphQLList) graphQLType).getWrappedType();
-
-            for (Object item : ((List) arg)) {
-                list.add(buildArg(subType, wrappedType, item));
-            }
-            // add Optional wrapper if needed
-            if (((ParameterizedType) p).getRawType() == Optional.class) {
-                return Optional.of(list);
-            }
-            return list;
-        } else if (p instanceof ParameterizedType) {
-            Type subType = ((ParameterizedType) p).getActualTypeArguments()[0];
-            Object val = buildArg(subType, graphQLType, arg);
-            // add Optional wrapper if needed
-            if (((ParameterizedType) p).getRawType() == Optional.class) {
-                return Optional.ofNullable(val);
-            }
-            return val;
-        } else {
-            return arg;
-        }
-    }
-
-
-    /***
-     * return the constructor to call in order to build the object
-     * @param constructors Object constructors
-     * @return the annotated constructor if present else return the first constructor
-     */
-    private Constructor getBuildArgConstructor(Constructor<?> constructors[]) {
-        if (constructors != null) {
-            for (Constructor<?> constructor : constructors) {
-                if (constructor.isAnnotationPresent(GraphQLConstructor.class)) {
-                    return constructor;
-                }
-            }
-            return constructors[0];
-        }
-        return null;
+        return binding.bind(environment, environment.getArguments());
     }
 
     private Object getGraphQLFieldValue(Object source, String fieldName) throws IllegalAccessException, NoSuchFieldException, InvocationTargetException {
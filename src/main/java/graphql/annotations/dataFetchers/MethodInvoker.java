@@ -0,0 +1,96 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a method through a method handle that is bound once, with the same exception contract as {@link Method#invoke}.
+ * If the method is not accessible through a method handle, or the target and arguments do not exactly match the
+ * parameter types (so that only reflection would convert them, or reject them), it falls back to reflection.
+ */
+public class MethodInvoker {
+    private final Method method;
+    private final MethodHandle methodHandle;
+    private final boolean isStatic;
+    private final Class<?>[] parameterTypes;
+    private final boolean[] primitiveParameters;
+
+    public MethodInvoker(Method method) {
+        this.method = method;
+        this.methodHandle = spreadingMethodHandle(method);
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        this.primitiveParameters = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            primitiveParameters[i] = parameterTypes[i].isPrimitive();
+            parameterTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+    }
+
+    private static MethodHandle spreadingMethodHandle(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+                    .asSpreader(Object[].class, method.getParameterCount());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param target the object to invoke the method on, ignored for static methods
+     * @param args   the method arguments
+     * @return the value returned by the method
+     * @throws InvocationTargetException if the method throws an exception
+     * @throws IllegalAccessException    if the method is not accessible
+     */
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException, IllegalAccessException {
+        if (methodHandle == null || !matches(target, args)) {
+            return method.invoke(target, args);
+        }
+        try {
+            return (Object) methodHandle.invokeExact(target, args);
+        } catch (Throwable e) {
+            // the target and the arguments match the method type, so the exception was thrown by the method itself
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private boolean matches(Object target, Object[] args) {
+        if (!isStatic && !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        if (args == null || args.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null ? primitiveParameters[i] : !parameterTypes[i].isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A data fetcher that fuses a chain of pre-processing and post-processing stages around a single data fetcher.
+ * Instead of nesting one wrapper per directive wiring, every stage is kept in a flat array, so resolving a field
+ * costs a single loop over the stages no matter how many directives contributed to it.
+ * <p>
+ * The stages run in the order in which wrappers would: pre-processing stages run from the last added to the first
+ * added, and post-processing stages run from the first added to the last added. Unlike nested wrappers, all the
+ * post-processing stages receive the environment the data fetcher was called with, i.e. the one returned by the
+ * last pre-processing stage. If the data fetcher or a post-processing stage returns a {@link CompletionStage}, the
+ * remaining post-processing stages are applied once it completes.
+ * <p>
+ * Instances are immutable - adding a stage returns a new pipeline.
+ */
+public class PipelineDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private static final UnaryOperator[] NO_PRE_STAGES = new UnaryOperator[0];
+    private static final BiFunction[] NO_POST_STAGES = new BiFunction[0];
+
+    private final DataFetcher<?> dataFetcher;
+    private final UnaryOperator<DataFetchingEnvironment>[] preStages;
+    private final BiFunction<DataFetchingEnvironment, Object, Object>[] postStages;
+
+    @SuppressWarnings("unchecked")
+    public PipelineDataFetcher(DataFetcher<?> dataFetcher) {
+        this(dataFetcher, NO_PRE_STAGES, NO_POST_STAGES);
+    }
+
+    private PipelineDataFetcher(DataFetcher<?> dataFetcher, UnaryOperator<DataFetchingEnvironment>[] preStages,
+                                BiFunction<DataFetchingEnvironment, Object, Object>[] postStages) {
+        this.dataFetcher = dataFetcher;
+        this.preStages = preStages;
+        this.postStages = postStages;
+    }
+
+    /**
+     * @param dataFetcher a data fetcher, which may already be a pipeline
+     * @return the given data fetcher if it is a pipeline, otherwise a new pipeline without stages around it
+     */
+    public static PipelineDataFetcher of(DataFetcher<?> dataFetcher) {
+        if (dataFetcher instanceof PipelineDataFetcher) {
+            return (PipelineDataFetcher) dataFetcher;
+        }
+        return new PipelineDataFetcher(dataFetcher);
+    }
+
+    /**
+     * @param preStage a function that receives the data fetching environment and returns the environment the data fetcher will be called with
+     * @return a new pipeline with the stage added
+     */
+    @SuppressWarnings("unchecked")
+    public PipelineDataFetcher withPreStage(UnaryOperator<DataFetchingEnvironment> preStage) {
+        UnaryOperator<DataFetchingEnvironment>[] stages = new UnaryOperator[preStages.length + 1];
+        stages[0] = preStage;
+        System.arraycopy(preStages, 0, stages, 1, preStages.length);
+        return new PipelineDataFetcher(dataFetcher, stages, postStages);
+    }
+
+    /**
+     * @param postStage a function that receives the environment the data fetcher was called with and the fetched value, and returns a new value
+     * @return a new pipeline with the stage added
+     */
+    public PipelineDataFetcher withPostStage(BiFunction<DataFetchingEnvironment, Object, Object> postStage) {
+        BiFunction<DataFetchingEnvironment, Object, Object>[] stages = Arrays.copyOf(postStages, postStages.length + 1);
+        stages[postStages.length] = postStage;
+        return new PipelineDataFetcher(dataFetcher, preStages, stages);
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        DataFetchingEnvironment fetcherEnvironment = environment;
+        for (UnaryOperator<DataFetchingEnvironment> preStage : preStages) {
+            fetcherEnvironment = preStage.apply(fetcherEnvironment);
+        }
+        Object value = dataFetcher.get(fetcherEnvironment);
+        if (postStages.length == 0) {
+            return value;
+        }
+        return applyPostStages(fetcherEnvironment, value, 0);
+    }
+
+    private Object applyPostStages(DataFetchingEnvironment environment, Object value, int from) {
+        for (int i = from; i < postStages.length; i++) {
+            if (value instanceof CompletionStage) {
+                int next = i;
+                return ((CompletionStage<?>) value).thenCompose(v -> asStage(applyPostStages(environment, v, next)));
+            }
+            value = postStages[i].apply(environment, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> asStage(Object value) {
+        if (value instanceof CompletionStage) {
+            return (CompletionStage<Object>) value;
+        }
+        return CompletableFuture.completedFuture(value);
+    }
+
+    /**
+     * @return the data fetcher the stages are applied around
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
+    public int getPreStagesCount() {
+        return preStages.length;
+    }
+
+    public int getPostStagesCount() {
+        return postStages.length;
+    }
+}
@@ -14,32 +14,31 @@
  */
 package graphql.annotations.dataFetchers;
 
+import graphql.annotations.dataFetchers.arguments.ArgumentsBinding;
 import graphql.schema.*;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Invokes a relay mutation method with the fields of its input object.
+ * The mapping of the input fields to the method parameters, including the conversion of input objects, lists and
+ * optionals, is compiled once, so a call only reads the input values and invokes the method.
+ */
 public class RelayMutationMethodDataFetcher implements DataFetcher {
-    private final Method method;
+    private final MethodInvoker invoker;
     private final List<GraphQLArgument> args;
     private final GraphQLInputType input;
     private final GraphQLOutputType type;
-    private final int envIndex;
+    private volatile ArgumentsBinding binding;
 
     public RelayMutationMethodDataFetcher(Method method, List<GraphQLArgument> args, GraphQLInputType input, GraphQLOutputType type) {
-        this.method = method;
+        this.invoker = new MethodInvoker(method);
         this.args = args;
         this.input = input;
         this.type = type;
-        List<Class<?>> parameterTypes = Arrays.asList(method.getParameters()).stream().
-                map(Parameter::getType).
-                collect(Collectors.toList());
-        envIndex = parameterTypes.indexOf(DataFetchingEnvironment.class);
     }
 
     @Override
@@ -47,14 +46,26 @@ public class RelayMutationMethodDataFetcher implements DataFetcher {
         if (environment.getSource() == null) return null;
         try {
             Map<String, Object> input = environment.getArgument("input");
-            List<Object> args = this.args.stream().
-                    map(arg -> input.get(arg.getName())).collect(Collectors.toList());
-            if (envIndex >= 0) {
-                args.add(envIndex, environment);
-            }
-            return method.invoke(environment.getSource(), args.toArray());
+            return invoker.invoke(environment.getSource(), getBinding(environment).bind(environment, input));
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private ArgumentsBinding getBinding(DataFetchingEnvironment environment) {
+        ArgumentsBinding binding = this.binding;
+        if (binding == null) {
+            // compiled against the input type of the executed schema, where the type references of nested input objects are resolved
+            binding = ArgumentsBinding.forRelayMutation(invoker.getMethod(), args, getInputObjectType(environment));
+            this.binding = binding;
+        }
+        return binding;
+    }
+
+    private GraphQLInputObjectType getInputObjectType(DataFetchingEnvironment environment) {
+        GraphQLFieldDefinition fieldDefinition = environment.getFieldDefinition();
+        GraphQLArgument inputArgument = fieldDefinition != null ? fieldDefinition.getArgument("input") : null;
+        GraphQLType inputType = GraphQLTypeUtil.unwrapNonNull(inputArgument != null ? inputArgument.getType() : input);
+        return inputType instanceof GraphQLInputObjectType ? (GraphQLInputObjectType) inputType : null;
+    }
 }
@@ -0,0 +1,43 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.instances.InstanceFactory;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Delegates to a data fetcher instance which is obtained on each call according to its scope
+ * (see {@link graphql.annotations.instances.InstanceScope})
+ */
+public class ScopedDataFetcher implements DataFetcher<Object> {
+    private final Class<? extends DataFetcher> dataFetcherClass;
+    private final InstanceFactory<? extends DataFetcher> instanceFactory;
+
+    public ScopedDataFetcher(Class<? extends DataFetcher> dataFetcherClass, InstanceFactory<? extends DataFetcher> instanceFactory) {
+        this.dataFetcherClass = dataFetcherClass;
+        this.instanceFactory = instanceFactory;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        return instanceFactory.getInstance(environment).get(environment);
+    }
+
+    /**
+     * @return the class of the data fetcher instances the fetching is delegated to
+     */
+    public Class<? extends DataFetcher> getDataFetcherClass() {
+        return dataFetcherClass;
+    }
+}
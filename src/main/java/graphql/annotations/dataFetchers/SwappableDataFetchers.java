@@ -0,0 +1,150 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.TrivialDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * Allows replacing the data fetchers of a live schema, without rebuilding it.
+ * Every field of the schema is registered with a thin data fetcher that delegates to the current data fetcher of its
+ * coordinates. The data fetchers are kept in a copy-on-write table, so replacing one or many of them is atomic,
+ * and resolving a field only reads the current table, without locking.
+ * <p>
+ * A field whose initial data fetcher is a {@link TrivialDataFetcher} (such as a plain property) is registered with a
+ * trivial delegating data fetcher, so instrumentations keep skipping it; it can only be replaced by another trivial
+ * data fetcher.
+ */
+public class SwappableDataFetchers {
+    private final AtomicReference<Map<FieldCoordinates, DataFetcher<?>>> dataFetchers = new AtomicReference<>(Collections.emptyMap());
+    private final Set<FieldCoordinates> trivialFields = new HashSet<>();
+
+    /**
+     * Registers the delegating data fetchers of all the fields of the object types of a schema
+     *
+     * @param schema       the schema
+     * @param codeRegistry the code registry of the schema, which holds the initial data fetchers
+     * @return a code registry in which every field is resolved by a delegating data fetcher
+     */
+    public GraphQLCodeRegistry register(GraphQLSchema schema, GraphQLCodeRegistry codeRegistry) {
+        Map<FieldCoordinates, DataFetcher<?>> initialDataFetchers = new HashMap<>();
+        GraphQLCodeRegistry.Builder builder = GraphQLCodeRegistry.newCodeRegistry(codeRegistry);
+        for (GraphQLType type : schema.getAllTypesAsList()) {
+            if (!(type instanceof GraphQLObjectType) || ((GraphQLObjectType) type).getName().startsWith("__")) {
+                continue;
+            }
+            GraphQLObjectType objectType = (GraphQLObjectType) type;
+            for (GraphQLFieldDefinition field : objectType.getFieldDefinitions()) {
+                FieldCoordinates fieldCoordinates = coordinates(objectType, field);
+                DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(fieldCoordinates, field);
+                initialDataFetchers.put(fieldCoordinates, dataFetcher);
+                if (dataFetcher instanceof TrivialDataFetcher) {
+                    trivialFields.add(fieldCoordinates);
+                    builder.dataFetcher(fieldCoordinates, new TrivialSwappableDataFetcher(fieldCoordinates));
+                } else {
+                    builder.dataFetcher(fieldCoordinates, new SwappableDataFetcher(fieldCoordinates));
+                }
+            }
+        }
+        dataFetchers.set(Collections.unmodifiableMap(initialDataFetchers));
+        return builder.build();
+    }
+
+    /**
+     * @param fieldCoordinates the coordinates of a field
+     * @return the current data fetcher of the field
+     */
+    public DataFetcher<?> getDataFetcher(FieldCoordinates fieldCoordinates) {
+        return dataFetchers.get().get(fieldCoordinates);
+    }
+
+    /**
+     * @return the coordinates of all the fields whose data fetcher can be replaced
+     */
+    public Set<FieldCoordinates> getFieldCoordinates() {
+        return dataFetchers.get().keySet();
+    }
+
+    /**
+     * @param fieldCoordinates the coordinates of a field
+     * @param dataFetcher      the new data fetcher of the field
+     */
+    public void replace(FieldCoordinates fieldCoordinates, DataFetcher<?> dataFetcher) {
+        replaceAll(Collections.singletonMap(fieldCoordinates, dataFetcher));
+    }
+
+    /**
+     * Replaces the data fetchers of several fields atomically - a field resolution sees either all of the new data
+     * fetchers or none of them
+     *
+     * @param replacements the new data fetchers, by the coordinates of their fields
+     */
+    public void replaceAll(Map<FieldCoordinates, ? extends DataFetcher<?>> replacements) {
+        dataFetchers.updateAndGet(current -> {
+            Map<FieldCoordinates, DataFetcher<?>> updated = new HashMap<>(current);
+            replacements.forEach((fieldCoordinates, dataFetcher) -> {
+                if (!current.containsKey(fieldCoordinates)) {
+                    throw new IllegalArgumentException("No swappable data fetcher is registered for " + fieldCoordinates);
+                }
+                if (dataFetcher == null) {
+                    throw new IllegalArgumentException("The data fetcher of " + fieldCoordinates + " cannot be null");
+                }
+                if (trivialFields.contains(fieldCoordinates) && !(dataFetcher instanceof TrivialDataFetcher)) {
+                    throw new IllegalArgumentException("The data fetcher of " + fieldCoordinates + " is trivial, and can only be replaced by a trivial data fetcher");
+                }
+                updated.put(fieldCoordinates, dataFetcher);
+            });
+            return Collections.unmodifiableMap(updated);
+        });
+    }
+
+    private class SwappableDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+        private final FieldCoordinates fieldCoordinates;
+
+        SwappableDataFetcher(FieldCoordinates fieldCoordinates) {
+            this.fieldCoordinates = fieldCoordinates;
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) throws Exception {
+            return dataFetchers.get().get(fieldCoordinates).get(environment);
+        }
+
+        @Override
+        public DataFetcher<?> getDelegate() {
+            return dataFetchers.get().get(fieldCoordinates);
+        }
+    }
+
+    private class TrivialSwappableDataFetcher extends SwappableDataFetcher implements TrivialDataFetcher<Object> {
+        TrivialSwappableDataFetcher(FieldCoordinates fieldCoordinates) {
+            super(fieldCoordinates);
+        }
+    }
+}
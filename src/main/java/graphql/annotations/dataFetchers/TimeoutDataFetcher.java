@@ -0,0 +1,120 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.execution.DataFetcherTimeoutException;
+import graphql.annotations.execution.RequestDeadline;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Fails a field with a {@link DataFetcherTimeoutException} when it does not complete before its timeout
+ * (see {@link graphql.annotations.annotationTypes.GraphQLTimeout}) or before the {@link RequestDeadline} of the request,
+ * whichever comes first.
+ * <p>
+ * A field that returns a {@link CompletionStage} is completed exceptionally once the time is up, and its future is
+ * cancelled. A synchronous field cannot be preempted, so it only fails when the deadline has already expired before it is called.
+ */
+public class TimeoutDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private final DataFetcher<?> dataFetcher;
+    private final long timeoutMillis;
+
+    /**
+     * @param dataFetcher   the data fetcher of the field
+     * @param timeoutMillis the timeout of the field in milliseconds, or 0 to apply only the deadline of the request
+     */
+    public TimeoutDataFetcher(DataFetcher<?> dataFetcher, long timeoutMillis) {
+        this.dataFetcher = dataFetcher;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "graphql-annotations-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        RequestDeadline deadline = RequestDeadline.get(environment);
+        long timeoutNanos = timeoutMillis > 0 ? MILLISECONDS.toNanos(timeoutMillis) : Long.MAX_VALUE;
+        if (deadline != null) {
+            long remainingNanos = deadline.getRemainingNanos();
+            if (remainingNanos <= 0) {
+                throw new DataFetcherTimeoutException(environment, "The request deadline has expired before the field was fetched");
+            }
+            timeoutNanos = Math.min(timeoutNanos, remainingNanos);
+        }
+
+        Object value = dataFetcher.get(environment);
+        if (!(value instanceof CompletionStage) || timeoutNanos == Long.MAX_VALUE) {
+            return value;
+        }
+        CompletableFuture<Object> source = ((CompletionStage<Object>) value).toCompletableFuture();
+        if (source.isDone()) {
+            return source;
+        }
+        if (deadline != null) {
+            deadline.track(source);
+        }
+
+        // the future is cancelled before the field fails, so it is released by the time the response is sent
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        AtomicReference<DataFetcherTimeoutException> timeout = new AtomicReference<>();
+        ScheduledFuture<?> timer = SCHEDULER.schedule(() -> {
+            timeout.set(new DataFetcherTimeoutException(environment, "The field did not complete in time"));
+            source.cancel(true);
+        }, timeoutNanos, NANOSECONDS);
+        source.whenComplete((completed, throwable) -> {
+            timer.cancel(false);
+            if (throwable != null) {
+                result.completeExceptionally(timeout.get() != null ? timeout.get() : throwable);
+            } else {
+                result.complete(completed);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the data fetcher the timeout is applied to
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.tracing.FieldSpan;
+import graphql.annotations.tracing.RequestTrace;
+import graphql.annotations.tracing.Tracing;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Records a {@link FieldSpan} of each call of a data fetcher, in the requests that are traced (see {@link Tracing}).
+ * The span of a field that returns a {@link CompletionStage} ends when the stage completes, and the stage returned to
+ * the execution completes only after that, so the spans of the fields below it always find it as their parent.
+ */
+public class TracingDataFetcher implements DataFetcher<Object>, DelegatingDataFetcher {
+    private final DataFetcher<?> dataFetcher;
+    private final Tracing tracing;
+    private final Map<String, Object> attributes;
+
+    /**
+     * @param dataFetcher the data fetcher of the field
+     * @param tracing     the tracing configuration
+     * @param javaClass   the name of the class that resolves the field
+     * @param javaMethod  the name of the method that resolves the field, or null
+     */
+    public TracingDataFetcher(DataFetcher<?> dataFetcher, Tracing tracing, String javaClass, String javaMethod) {
+        this.dataFetcher = dataFetcher;
+        this.tracing = tracing;
+        this.attributes = new HashMap<>();
+        attributes.put(FieldSpan.JAVA_CLASS, javaClass);
+        if (javaMethod != null) {
+            attributes.put(FieldSpan.JAVA_METHOD, javaMethod);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        RequestTrace trace = RequestTrace.get(environment, tracing);
+        if (trace == null) {
+            return dataFetcher.get(environment);
+        }
+        Map<String, Object> spanAttributes = new HashMap<>(attributes);
+        spanAttributes.put(FieldSpan.ARGUMENT_COUNT, environment.getArguments().size());
+        RequestTrace.Span span = trace.start(environment, spanAttributes);
+        Object value;
+        try {
+            value = dataFetcher.get(environment);
+        } catch (Exception | Error e) {
+            trace.end(span, null, e);
+            throw e;
+        }
+        if (!(value instanceof CompletionStage)) {
+            trace.end(span, value, null);
+            return value;
+        }
+        CompletableFuture<Object> source = ((CompletionStage<Object>) value).toCompletableFuture();
+        CompletableFuture<Object> traced = source.whenComplete((result, throwable) -> trace.end(span, result, throwable));
+        traced.whenComplete((result, throwable) -> {
+            if (traced.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return traced;
+    }
+
+    /**
+     * @return the traced data fetcher
+     */
+    public DataFetcher<?> getDataFetcher() {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<?> getDelegate() {
+        return dataFetcher;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLConstructor;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
+import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
+
+/**
+ * Converts a coerced GraphQL argument value into the java type of a method parameter.
+ * A converter is compiled once out of the java type and the GraphQL type of the parameter, so converting a value
+ * does not need any type inspection.
+ */
+public abstract class ArgumentConverter {
+    private static final ArgumentConverter IDENTITY = new ArgumentConverter(false) {
+        @Override
+        protected Object convertValue(Object value) {
+            return value;
+        }
+    };
+    private static final ArgumentConverter OPTIONAL_IDENTITY = new ArgumentConverter(true) {
+        @Override
+        protected Object convertValue(Object value) {
+            return value;
+        }
+    };
+
+    private final boolean isOptional;
+
+    private ArgumentConverter(boolean isOptional) {
+        this.isOptional = isOptional;
+    }
+
+    /**
+     * @param value the coerced argument value
+     * @return the value converted to the java type
+     */
+    public Object convert(Object value) {
+        if (value == null) {
+            // for Optional parameters null should be returned as Optional.empty() to show a request for a null value
+            // and not including the parameter in the query at all should be returned as null to show "undefined" value / not set
+            return isOptional ? Optional.empty() : null;
+        }
+        return convertValue(value);
+    }
+
+    protected abstract Object convertValue(Object value);
+
+    /**
+     * Compiles a converter for a java type and its GraphQL type
+     *
+     * @param javaType    the java type (possibly parameterized) of the method parameter or input field
+     * @param graphQLType the GraphQL input type of the argument
+     * @return a converter
+     */
+    public static ArgumentConverter forType(Type javaType, GraphQLType graphQLType) {
+        boolean isOptional = isOptional(javaType);
+        if (graphQLType instanceof graphql.schema.GraphQLNonNull) {
+            graphQLType = ((graphql.schema.GraphQLNonNull) graphQLType).getWrappedType();
+        }
+        if (javaType instanceof Class<?> && graphQLType instanceof GraphQLInputObjectType) {
+            Constructor<?>[] constructors = ((Class<?>) javaType).getConstructors();
+            if (constructors.length > 0) {
+                return new InputObjectConverter(getBuildArgConstructor(constructors), (GraphQLInputObjectType) graphQLType);
+            }
+            return IDENTITY;
+        } else if (javaType instanceof ParameterizedType && graphQLType instanceof GraphQLList) {
+            Type subType = ((ParameterizedType) javaType).getActualTypeArguments()[0];
+            return new ListConverter(isOptional, forType(subType, ((GraphQLList) graphQLType).getWrappedType()));
+        } else if (javaType instanceof ParameterizedType) {
+            Type subType = ((ParameterizedType) javaType).getActualTypeArguments()[0];
+            ArgumentConverter valueConverter = forType(subType, graphQLType);
+            if (!isOptional) {
+                return valueConverter;
+            }
+            return new ArgumentConverter(true) {
+                @Override
+                protected Object convertValue(Object value) {
+                    return Optional.ofNullable(valueConverter.convert(value));
+                }
+            };
+        }
+        return isOptional ? OPTIONAL_IDENTITY : IDENTITY;
+    }
+
+    private static boolean isOptional(Type javaType) {
+        return javaType instanceof ParameterizedType && ((ParameterizedType) javaType).getRawType() == Optional.class;
+    }
+
+    /***
+     * return the constructor to call in order to build the object
+     * @param constructors Object constructors
+     * @return the annotated constructor if present else return the first constructor
+     */
+    private static Constructor<?> getBuildArgConstructor(Constructor<?>[] constructors) {
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.isAnnotationPresent(GraphQLConstructor.class)) {
+                return constructor;
+            }
+        }
+        return constructors[0];
+    }
+
+    private static class ListConverter extends ArgumentConverter {
+        private final boolean wrapInOptional;
+        private final ArgumentConverter elementConverter;
+
+        ListConverter(boolean isOptional, ArgumentConverter elementConverter) {
+            super(isOptional);
+            this.wrapInOptional = isOptional;
+            this.elementConverter = elementConverter;
+        }
+
+        @Override
+        protected Object convertValue(Object value) {
+            List<?> values = (List<?>) value;
+            List<Object> list = new ArrayList<>(values.size());
+            for (Object item : values) {
+                list.add(elementConverter.convert(item));
+            }
+            // add Optional wrapper if needed
+            return wrapInOptional ? Optional.of(list) : list;
+        }
+    }
+
+    private static class InputObjectConverter extends ArgumentConverter {
+        private final Constructor<?> constructor;
+        private final Class<?> singleParameterType;
+        private final String[] names;
+        private final Type[] javaTypes;
+        private final GraphQLType[] graphQLTypes;
+        // compiled lazily, as input objects may be recursive
+        private final ArgumentConverter[] converters;
+
+        InputObjectConverter(Constructor<?> constructor, GraphQLInputObjectType inputObjectType) {
+            super(false);
+            this.constructor = constructor;
+            Parameter[] parameters = constructor.getParameters();
+            this.singleParameterType = parameters.length == 1 ? parameters[0].getType() : null;
+            this.names = new String[parameters.length];
+            this.javaTypes = new Type[parameters.length];
+            this.graphQLTypes = new GraphQLType[parameters.length];
+            this.converters = new ArgumentConverter[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                GraphQLName name = parameter.getAnnotation(GraphQLName.class);
+                names[i] = toGraphqlName(name != null ? name.value() : parameter.getName());
+                javaTypes[i] = parameter.getParameterizedType();
+                GraphQLInputObjectField field = inputObjectType.getField(names[i]);
+                graphQLTypes[i] = field != null ? field.getType() : null;
+            }
+        }
+
+        @Override
+        protected Object convertValue(Object value) {
+            if (singleParameterType != null && singleParameterType.isAssignableFrom(value.getClass())) {
+                return constructNewInstance(constructor, value);
+            }
+            Map<?, ?> map = (Map<?, ?>) value;
+            Object[] values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                // There is a difference between not having a parameter in the query and having it with a null value
+                // If the value is not given, it will always be null, but if the value is given as null and the parameter is optional, it will be Optional.empty()
+                if (map.containsKey(names[i])) {
+                    values[i] = getConverter(i).convert(map.get(names[i]));
+                }
+            }
+            return constructNewInstance(constructor, values);
+        }
+
+        private ArgumentConverter getConverter(int i) {
+            ArgumentConverter converter = converters[i];
+            if (converter == null) {
+                converter = forType(javaTypes[i], graphQLTypes[i]);
+                converters[i] = converter;
+            }
+            return converter;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLIgnore;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLType;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
+
+/**
+ * A compiled plan for binding the arguments of a GraphQL field to the parameters of the java method that resolves it.
+ * For every parameter, the plan holds the name of its argument and a compiled {@link ArgumentConverter},
+ * or marks it as the parameter that receives the {@link DataFetchingEnvironment}.
+ */
+public class ArgumentsBinding {
+    private final String[] names;
+    private final ArgumentConverter[] converters;
+    private final boolean[] isEnvironment;
+
+    private ArgumentsBinding(int parametersCount) {
+        this.names = new String[parametersCount];
+        this.converters = new ArgumentConverter[parametersCount];
+        this.isEnvironment = new boolean[parametersCount];
+    }
+
+    /**
+     * @param environment the data fetching environment
+     * @param arguments   the argument values, by argument name
+     * @return the values to invoke the method with
+     */
+    public Object[] bind(DataFetchingEnvironment environment, Map<String, Object> arguments) {
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (isEnvironment[i]) {
+                values[i] = environment;
+            } else if (names[i] != null && arguments != null && arguments.containsKey(names[i])) {
+                values[i] = converters[i].convert(arguments.get(names[i]));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Compiles the binding of a method that resolves a regular field.
+     * The GraphQL type of each parameter is built using the given type function.
+     *
+     * @param method       the method
+     * @param typeFunction the type function of the method
+     * @param container    the processing elements container
+     * @return the binding
+     */
+    public static ArgumentsBinding forMethod(Method method, TypeFunction typeFunction, ProcessingElementsContainer container) {
+        Parameter[] parameters = method.getParameters();
+        ArgumentsBinding binding = new ArgumentsBinding(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (DataFetchingEnvironment.class.isAssignableFrom(parameter.getType())) {
+                binding.isEnvironment[i] = true;
+                continue;
+            }
+            GraphQLName name = parameter.getAnnotation(GraphQLName.class);
+            binding.names[i] = toGraphqlName(name != null ? name.value() : parameter.getName());
+            GraphQLType graphQLType = typeFunction.buildType(true, parameter.getType(), parameter.getAnnotatedType(), container);
+            binding.converters[i] = ArgumentConverter.forType(parameter.getParameterizedType(), graphQLType);
+        }
+        return binding;
+    }
+
+    /**
+     * Compiles the binding of a relay mutation method, whose arguments are the fields of its input object
+     *
+     * @param method    the mutation method
+     * @param arguments the arguments built out of the method parameters, which are not ignored and are not the data fetching environment
+     * @param inputType the input object type of the mutation, whose field types are used when they are resolved
+     * @return the binding
+     */
+    public static ArgumentsBinding forRelayMutation(Method method, List<GraphQLArgument> arguments, GraphQLInputObjectType inputType) {
+        Parameter[] parameters = method.getParameters();
+        ArgumentsBinding binding = new ArgumentsBinding(parameters.length);
+        int argumentIndex = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (DataFetchingEnvironment.class.isAssignableFrom(parameter.getType())) {
+                binding.isEnvironment[i] = true;
+            } else if (!parameter.isAnnotationPresent(GraphQLIgnore.class) && argumentIndex < arguments.size()) {
+                GraphQLArgument argument = arguments.get(argumentIndex++);
+                GraphQLInputObjectField field = inputType != null ? inputType.getField(argument.getName()) : null;
+                binding.names[i] = argument.getName();
+                binding.converters[i] = ArgumentConverter.forType(parameter.getParameterizedType(), field != null ? field.getType() : argument.getType());
+            }
+        }
+        return binding;
+    }
+}
@@ -15,37 +15,23 @@
 package graphql.annotations.dataFetchers.connection;
 
 import graphql.annotations.connection.ConnectionFetcher;
+import graphql.annotations.instances.InstanceProvider;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
-import java.lang.reflect.Constructor;
-import java.util.Arrays;
-import java.util.Optional;
-
-import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
-
 public class ConnectionDataFetcher<T> implements DataFetcher<graphql.relay.Connection<T>> {
-    private final DataFetcher<?> actualDataFetcher;
-    private final Constructor<ConnectionFetcher<T>> constructor;
+    private final ConnectionFetcherProvider<ConnectionFetcher<T>> connectionFetcherProvider;
 
-    @SuppressWarnings("unchecked")
     public ConnectionDataFetcher(Class<? extends ConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher) {
-        this.actualDataFetcher =  actualDataFetcher;
-        Optional<Constructor<ConnectionFetcher<T>>> constructor =
-                Arrays.stream(connection.getConstructors()).
-                        filter(c -> c.getParameterCount() == 1).
-                        map(c -> (Constructor<ConnectionFetcher<T>>) c).
-                        findFirst();
-        if (constructor.isPresent()) {
-            this.constructor = constructor.get();
-        } else {
-            throw new IllegalArgumentException(connection.getSimpleName() + " doesn't have a single argument constructor");
-        }
+        this.connectionFetcherProvider = new ConnectionFetcherProvider<>(connection, actualDataFetcher);
+    }
+
+    public ConnectionDataFetcher(Class<? extends ConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher, InstanceProvider instanceProvider) {
+        this.connectionFetcherProvider = new ConnectionFetcherProvider<>(connection, actualDataFetcher, instanceProvider);
     }
 
     @Override
     public graphql.relay.Connection<T> get(DataFetchingEnvironment environment) throws Exception {
-        ConnectionFetcher<T> conn = constructNewInstance(constructor, actualDataFetcher);
-        return conn.get(environment);
+        return connectionFetcherProvider.getConnectionFetcher(environment).get(environment);
     }
 }
@@ -0,0 +1,80 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.connection;
+
+import graphql.GraphQLContext;
+import graphql.annotations.annotationTypes.GraphQLInstanceScope;
+import graphql.annotations.connection.ConnectionFetcher;
+import graphql.annotations.instances.DefaultInstanceProvider;
+import graphql.annotations.instances.InstanceProvider;
+import graphql.annotations.instances.InstanceScope;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Supplies the connection fetcher that wraps the data fetcher of a connection field.
+ * Connection fetchers are expected to be stateless, so by default a single instance is constructed when the schema is
+ * built and is reused by all the requests. A connection fetcher that has to be constructed per request or per call
+ * should be annotated with {@link GraphQLInstanceScope}. The instances are created by an {@link InstanceProvider}.
+ *
+ * @param <F> the type of the connection fetcher
+ */
+public class ConnectionFetcherProvider<F extends ConnectionFetcher<?>> {
+    private final Class<? extends F> connection;
+    private final DataFetcher<?> actualDataFetcher;
+    private final InstanceProvider instanceProvider;
+    private final InstanceScope scope;
+    private final F connectionFetcher;
+
+    public ConnectionFetcherProvider(Class<? extends F> connection, DataFetcher<?> actualDataFetcher) {
+        this(connection, actualDataFetcher, new DefaultInstanceProvider());
+    }
+
+    /**
+     * @param connection        the class of the connection fetcher
+     * @param actualDataFetcher the data fetcher the connection fetcher wraps
+     * @param instanceProvider  the provider that creates the connection fetchers
+     */
+    public ConnectionFetcherProvider(Class<? extends F> connection, DataFetcher<?> actualDataFetcher, InstanceProvider instanceProvider) {
+        this.connection = connection;
+        this.actualDataFetcher = actualDataFetcher;
+        this.instanceProvider = instanceProvider;
+        GraphQLInstanceScope instanceScope = connection.getAnnotation(GraphQLInstanceScope.class);
+        this.scope = instanceScope == null ? InstanceScope.SINGLETON : instanceScope.value();
+        this.connectionFetcher = scope == InstanceScope.SINGLETON ? newConnectionFetcher() : null;
+    }
+
+    private F newConnectionFetcher() {
+        return instanceProvider.getInstance(connection, actualDataFetcher);
+    }
+
+    /**
+     * @param environment the data fetching environment
+     * @return the connection fetcher to resolve the field with
+     */
+    @SuppressWarnings("unchecked")
+    public F getConnectionFetcher(DataFetchingEnvironment environment) {
+        switch (scope) {
+            case SINGLETON:
+                return connectionFetcher;
+            case REQUEST:
+                GraphQLContext context = environment.getGraphQLContext();
+                if (context != null) {
+                    return (F) context.computeIfAbsent(this, key -> newConnectionFetcher());
+                }
+                // fall through: without a context, there is no request to scope the instance to
+            default:
+                return newConnectionFetcher();
+        }
+    }
+}
@@ -18,13 +18,24 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.stream.Stream;
 
 public class DispatchingConnection implements DataFetcher, Connection {
+    /**
+     * The size from which a list that can be accessed by index is paged by an {@link IndexedListConnection},
+     * instead of building the edges of the whole list.
+     */
+    public static final int INDEXED_LIST_THRESHOLD = 1000;
+
     private final DataFetcher connection;
 
     public DispatchingConnection(Object o) {
-        if (o instanceof List) {
+        if (o instanceof IndexedListConnection) {
+            connection = (IndexedListConnection<?>) o;
+        } else if (o instanceof List && o instanceof RandomAccess && ((List<?>) o).size() >= INDEXED_LIST_THRESHOLD) {
+            connection = new IndexedListConnection<>((List<?>) o);
+        } else if (o instanceof List) {
             connection = new ListConnection((List<?>) o);
         } else if (o instanceof Stream) {
             connection = new StreamConnection((Stream<?>) o);
@@ -0,0 +1,211 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.connection;
+
+import graphql.annotations.connection.LazyCursorEdge;
+import graphql.annotations.connection.keyset.InMemoryKeysetSource;
+import graphql.annotations.connection.keyset.KeysetCursor;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.relay.InvalidCursorException;
+import graphql.relay.InvalidPageSizeException;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+import static graphql.annotations.processor.util.RelayKit.EMPTY_CONNECTION;
+
+/**
+ * A connection over a list that can be accessed by index, for large lists that are kept in memory (for example, cached).
+ * The page is computed from the arguments without going over the list: the cursors are decoded into offsets directly,
+ * and edges are created only for the entities of the page.
+ * The cursors are the same as the ones of {@link ListConnection}.
+ * <p>
+ * Sorted indexes can be added with {@link #withIndex(String, Function)}. A connection ordered by an index
+ * ({@link #orderedBy(String)}) returns the entities in the order of their keys, and its cursors encode the key of the
+ * entity rather than its offset, so a cursor is found by a binary search and stays valid when the list is replaced
+ * by a newer snapshot.
+ * <p>
+ * The list must not change while the connection is in use - use {@link #snapshot(Collection)} to copy it.
+ *
+ * @param <T> the type of the entities
+ */
+public class IndexedListConnection<T> implements DataFetcher<Object>, Connection {
+    private static final String DUMMY_CURSOR_PREFIX = "simple-cursor";
+
+    private final List<T> data;
+    private final Map<String, SortedIndex<T>> indexes;
+    private final SortedIndex<T> order;
+
+    /**
+     * @param data the entities, which are copied if the list is not {@link RandomAccess}
+     */
+    public IndexedListConnection(List<T> data) {
+        this(data instanceof RandomAccess ? data : new ArrayList<>(data), Collections.emptyMap(), null);
+    }
+
+    private IndexedListConnection(List<T> data, Map<String, SortedIndex<T>> indexes, SortedIndex<T> order) {
+        this.data = data;
+        this.indexes = indexes;
+        this.order = order;
+    }
+
+    /**
+     * @param data the entities
+     * @param <T>  the type of the entities
+     * @return a connection over an immutable copy of the entities
+     */
+    public static <T> IndexedListConnection<T> snapshot(Collection<? extends T> data) {
+        return new IndexedListConnection<>(Collections.unmodifiableList(new ArrayList<T>(data)));
+    }
+
+    /**
+     * Sorts the entities by a key. The index is built once, and is shared by the connections derived from this one.
+     *
+     * @param name        the name of the index
+     * @param keyFunction the function that gives the key of an entity. The keys must be unique, and their values
+     *                    {@link Comparable} (nulls come first)
+     * @return a new connection with the index added
+     */
+    public IndexedListConnection<T> withIndex(String name, Function<T, Object[]> keyFunction) {
+        Map<String, SortedIndex<T>> newIndexes = new HashMap<>(indexes);
+        newIndexes.put(name, new SortedIndex<>(data, keyFunction));
+        return new IndexedListConnection<>(data, Collections.unmodifiableMap(newIndexes), order);
+    }
+
+    /**
+     * @param name the name of an index added by {@link #withIndex(String, Function)}
+     * @return a connection over the same entities, in the order of the index
+     */
+    public IndexedListConnection<T> orderedBy(String name) {
+        SortedIndex<T> index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("No index named " + name);
+        }
+        return new IndexedListConnection<>(data, indexes, index);
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) {
+        int size = data.size();
+        int from;
+        int to;
+        String after = environment.getArgument("after");
+        String before = environment.getArgument("before");
+        if (order == null) {
+            from = after == null ? 0 : (int) Math.min(size, Math.max(getOffsetFromCursor(after), -1) + 1L);
+            to = before == null ? size : Math.max(0, Math.min(size, getOffsetFromCursor(before)));
+        } else {
+            from = after == null ? 0 : order.search(KeysetCursor.decode(after), false);
+            to = before == null ? size : order.search(KeysetCursor.decode(before), true);
+        }
+        if (from > to) {
+            from = to;
+        }
+
+        Integer first = environment.getArgument("first");
+        Integer last = environment.getArgument("last");
+        if (first != null) {
+            if (first < 0) {
+                throw new InvalidPageSizeException("The page size must not be negative: 'first'=" + first);
+            }
+            to = Math.min(to, from + Math.min(first, to - from));
+        }
+        if (last != null) {
+            if (last < 0) {
+                throw new InvalidPageSizeException("The page size must not be negative: 'last'=" + last);
+            }
+            from = Math.max(from, to - Math.min(last, to - from));
+        }
+        if (from == to) {
+            return EMPTY_CONNECTION;
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            edges.add(createEdge(i));
+        }
+        return new DefaultConnection<>(edges, new DefaultPageInfo(edges.get(0).getCursor(),
+                edges.get(edges.size() - 1).getCursor(), from > 0, to < size));
+    }
+
+    private Edge<T> createEdge(int position) {
+        if (order == null) {
+            return new DefaultEdge<>(data.get(position), new DefaultConnectionCursor(createCursor(position)));
+        }
+        Function<T, Object[]> keyFunction = order.keyFunction;
+        return new LazyCursorEdge<>(data.get(order.sortedPositions.get(position)), entity -> KeysetCursor.encode(keyFunction.apply(entity)));
+    }
+
+    private static int getOffsetFromCursor(String cursor) {
+        try {
+            String string = new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (string.startsWith(DUMMY_CURSOR_PREFIX)) {
+                return Integer.parseInt(string.substring(DUMMY_CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+
+    private static String createCursor(int offset) {
+        byte[] bytes = (DUMMY_CURSOR_PREFIX + offset).getBytes(StandardCharsets.UTF_8);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * The positions of the entities sorted by their keys, searched through an {@link InMemoryKeysetSource} of the positions.
+     */
+    private static class SortedIndex<T> {
+        private final Function<T, Object[]> keyFunction;
+        private final InMemoryKeysetSource<Integer> source;
+        private final List<Integer> sortedPositions;
+
+        SortedIndex(List<T> data, Function<T, Object[]> keyFunction) {
+            this.keyFunction = keyFunction;
+            List<Integer> positions = new ArrayList<>(data.size());
+            for (int i = 0; i < data.size(); i++) {
+                positions.add(i);
+            }
+            this.source = new InMemoryKeysetSource<>(positions, position -> keyFunction.apply(data.get(position)));
+            this.sortedPositions = source.fetchAfter(null, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @return the index of the first key that is greater than the given key (or equal to it, if inclusive)
+         */
+        int search(Object[] key, boolean inclusive) {
+            // the fetched lists are views of the sorted positions, so only their sizes are computed
+            return inclusive ? source.fetchBefore(key, Integer.MAX_VALUE).size()
+                    : sortedPositions.size() - source.fetchAfter(key, Integer.MAX_VALUE).size();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.annotations.annotationTypes.GraphQLBulkhead;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The bulkheads of a schema, by name. Fields with the same bulkhead name share the same bulkhead, so they must declare it with the same limits.
+ */
+public class BulkheadRegistry {
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * @param annotation the bulkhead annotation of a field or a connection fetcher
+     * @return the bulkhead with the name of the annotation, which is created on first use
+     * @throws GraphQLAnnotationsException if the limits are invalid, or differ from the limits the bulkhead was created with
+     */
+    public Bulkhead getBulkhead(GraphQLBulkhead annotation) throws GraphQLAnnotationsException {
+        if (annotation.maxConcurrent() <= 0 || annotation.queue() < 0 || annotation.maxWaitMillis() < 0) {
+            throw new GraphQLAnnotationsException("Invalid limits for bulkhead " + annotation.name(), null);
+        }
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(annotation.name(),
+                name -> new Bulkhead(name, annotation.maxConcurrent(), annotation.queue(), annotation.maxWaitMillis()));
+        if (bulkhead.getMaxConcurrent() != annotation.maxConcurrent() || bulkhead.getQueue() != annotation.queue()
+                || bulkhead.getMaxWaitMillis() != annotation.maxWaitMillis()) {
+            throw new GraphQLAnnotationsException("Bulkhead " + annotation.name() + " is declared with different limits", null);
+        }
+        return bulkhead;
+    }
+
+    /**
+     * @param name the name of a bulkhead
+     * @return the bulkhead, or null if no field declares it
+     */
+    public Bulkhead getBulkhead(String name) {
+        return bulkheads.get(name);
+    }
+
+    public Map<String, Bulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * Computes the cache policy of each response out of the {@link graphql.annotations.annotationTypes.GraphQLCacheControl}
+ * hints of the fields it resolved, and writes it into the {@link #EXTENSION_KEY} extension of the response
+ * (see {@link CachePolicy#of(ExecutionResult)}).
+ * <p>
+ * The max age of the response is the minimal max age of its fields, and its scope is private if any of its fields is private.
+ * The hint of a field is its own hint if it has one, and otherwise the hints of the type it returns and of the type it
+ * is resolved on. Fields that return objects, interfaces or unions whose type has no max age, and root fields without
+ * any hint, get the default max age, while other fields are as cacheable as their parent.
+ * Responses of mutations and subscriptions, responses with errors and incremental (deferred) responses are not cacheable.
+ */
+public class CacheControlInstrumentation extends SimplePerformantInstrumentation {
+    public static final String EXTENSION_KEY = "cacheControl";
+    public static final int DEFAULT_MAX_AGE = 0;
+
+    private final Map<FieldCoordinates, CacheHint> fieldHints;
+    private final Map<String, CacheHint> typeHints;
+    private final int defaultMaxAge;
+    private final Map<FieldCoordinates, CacheHint> resolvedHints = new ConcurrentHashMap<>();
+
+    /**
+     * @param fieldHints the hints of the fields, as recorded in {@link graphql.annotations.processor.ProcessingElementsContainer#getFieldCacheHints()}
+     * @param typeHints  the hints of the types, as recorded in {@link graphql.annotations.processor.ProcessingElementsContainer#getTypeCacheHints()}
+     */
+    public CacheControlInstrumentation(Map<FieldCoordinates, CacheHint> fieldHints, Map<String, CacheHint> typeHints) {
+        this(fieldHints, typeHints, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * @param fieldHints    the hints of the fields
+     * @param typeHints     the hints of the types
+     * @param defaultMaxAge the max age, in seconds, of the root fields and of the fields that return composite types, which have no hint
+     */
+    public CacheControlInstrumentation(Map<FieldCoordinates, CacheHint> fieldHints, Map<String, CacheHint> typeHints, int defaultMaxAge) {
+        this.fieldHints = fieldHints;
+        this.typeHints = typeHints;
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new PolicyState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        if (state instanceof PolicyState && parameters.getExecutionContext().getOperationDefinition().getOperation() != OperationDefinition.Operation.QUERY) {
+            ((PolicyState) state).restrict(0, false);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (state instanceof PolicyState) {
+            ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+            FieldCoordinates fieldCoordinates = coordinates(stepInfo.getObjectType().getName(), stepInfo.getFieldDefinition().getName());
+            CacheHint hint = resolvedHints.get(fieldCoordinates);
+            if (hint == null) {
+                hint = resolvedHints.computeIfAbsent(fieldCoordinates, key -> resolveHint(stepInfo, key));
+            }
+            ((PolicyState) state).restrict(hint.getMaxAge(), hint.getScope() == CacheScope.PRIVATE);
+        }
+        return dataFetcher;
+    }
+
+    private CacheHint resolveHint(ExecutionStepInfo stepInfo, FieldCoordinates fieldCoordinates) {
+        CacheHint fieldHint = fieldHints.get(fieldCoordinates);
+        if (fieldHint != null && fieldHint.getMaxAge() != CacheHint.UNSET) {
+            return fieldHint;
+        }
+        int maxAge = CacheHint.UNSET;
+        boolean isPrivate = fieldHint != null && fieldHint.getScope() == CacheScope.PRIVATE;
+        GraphQLType outputType = GraphQLTypeUtil.unwrapAll(stepInfo.getFieldDefinition().getType());
+        if (outputType instanceof GraphQLCompositeType) {
+            CacheHint returnedTypeHint = typeHints.get(((GraphQLNamedType) outputType).getName());
+            maxAge = returnedTypeHint != null && returnedTypeHint.getMaxAge() != CacheHint.UNSET ? returnedTypeHint.getMaxAge() : defaultMaxAge;
+            isPrivate |= returnedTypeHint != null && returnedTypeHint.getScope() == CacheScope.PRIVATE;
+        }
+        CacheHint parentTypeHint = typeHints.get(stepInfo.getObjectType().getName());
+        if (parentTypeHint != null) {
+            if (parentTypeHint.getMaxAge() != CacheHint.UNSET) {
+                maxAge = maxAge == CacheHint.UNSET ? parentTypeHint.getMaxAge() : Math.min(maxAge, parentTypeHint.getMaxAge());
+            }
+            isPrivate |= parentTypeHint.getScope() == CacheScope.PRIVATE;
+        }
+        if (maxAge == CacheHint.UNSET && stepInfo.getPath().getParent().isRootPath()) {
+            maxAge = defaultMaxAge;
+        }
+        return new CacheHint(maxAge, isPrivate ? CacheScope.PRIVATE : CacheScope.PUBLIC);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        if (!(state instanceof PolicyState)) {
+            return super.instrumentExecutionResult(executionResult, parameters, state);
+        }
+        PolicyState policyState = (PolicyState) state;
+        if (!executionResult.getErrors().isEmpty() || executionResult instanceof IncrementalExecutionResult) {
+            policyState.restrict(0, false);
+        }
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult().from(executionResult)
+                .addExtension(EXTENSION_KEY, policyState.getPolicy(defaultMaxAge).toMap()).build());
+    }
+
+    private static class PolicyState implements InstrumentationState {
+        private final AtomicInteger maxAge = new AtomicInteger(Integer.MAX_VALUE);
+        private volatile boolean isPrivate;
+
+        void restrict(int fieldMaxAge, boolean fieldIsPrivate) {
+            if (fieldMaxAge != CacheHint.UNSET) {
+                maxAge.accumulateAndGet(fieldMaxAge, Math::min);
+            }
+            if (fieldIsPrivate) {
+                isPrivate = true;
+            }
+        }
+
+        CachePolicy getPolicy(int defaultMaxAge) {
+            int policyMaxAge = maxAge.get();
+            return new CachePolicy(policyMaxAge == Integer.MAX_VALUE ? defaultMaxAge : policyMaxAge,
+                    isPrivate ? CacheScope.PRIVATE : CacheScope.PUBLIC);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
+
+/**
+ * The cache hint of a field or a type, as set by {@link GraphQLCacheControl}.
+ */
+public class CacheHint {
+    public static final int UNSET = -1;
+
+    private final int maxAge;
+    private final CacheScope scope;
+
+    public CacheHint(int maxAge, CacheScope scope) {
+        this.maxAge = maxAge;
+        this.scope = scope;
+    }
+
+    /**
+     * @param cacheControl a cache control annotation, or null
+     * @return the hint of the annotation, or null if there is no annotation
+     */
+    public static CacheHint of(GraphQLCacheControl cacheControl) {
+        return cacheControl == null ? null : new CacheHint(cacheControl.maxAge() < 0 ? UNSET : cacheControl.maxAge(), cacheControl.scope());
+    }
+
+    /**
+     * @return the max age in seconds, or {@link #UNSET}
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public CacheScope getScope() {
+        return scope;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The cache policy of a response: the minimal max age and the most restrictive scope of all its fields.
+ */
+public class CachePolicy {
+    private final int maxAge;
+    private final CacheScope scope;
+
+    public CachePolicy(int maxAge, CacheScope scope) {
+        this.maxAge = maxAge;
+        this.scope = scope;
+    }
+
+    /**
+     * @param executionResult a response of a GraphQL instance with a {@link CacheControlInstrumentation}
+     * @return the cache policy of the response, or null if it has none
+     */
+    public static CachePolicy of(ExecutionResult executionResult) {
+        Map<Object, Object> extensions = executionResult.getExtensions();
+        Object extension = extensions == null ? null : extensions.get(CacheControlInstrumentation.EXTENSION_KEY);
+        if (!(extension instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) extension;
+        return new CachePolicy(((Number) map.get("maxAge")).intValue(), CacheScope.valueOf((String) map.get("scope")));
+    }
+
+    /**
+     * @return the max age in seconds, 0 if the response must not be cached
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public CacheScope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return the value of the HTTP Cache-Control header of the response
+     */
+    public String toHeaderValue() {
+        if (maxAge <= 0) {
+            return "no-store";
+        }
+        return (scope == CacheScope.PRIVATE ? "private" : "public") + ", max-age=" + maxAge;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("maxAge", maxAge);
+        map.put("scope", scope.name());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toHeaderValue();
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent cache of parsed and validated documents, keyed by the query text and the operation name.
+ * Concurrent requests of the same document share a single parsing and validation.
+ * When the cache is full, documents are evicted in insertion order, except for documents that were used since they
+ * were last considered for eviction, which get a second chance.
+ * <p>
+ * The cached documents are validated against a single schema, so a cache must not be shared between schemas.
+ * {@link graphql.annotations.AnnotationsSchemaCreator.Builder#buildGraphQL()} creates a new cache for every schema
+ * it builds, and invalidates the cache of the previous one.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final int maximumSize;
+    private final ConcurrentMap<DocumentKey, CachedDocument> documents = new ConcurrentHashMap<>();
+    private final Queue<DocumentKey> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingPreparsedDocumentProvider() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximal number of cached documents
+     */
+    public CachingPreparsedDocumentProvider(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the document cache must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        DocumentKey key = new DocumentKey(executionInput.getQuery(), executionInput.getOperationName());
+        CachedDocument cachedDocument = documents.get(key);
+        if (cachedDocument == null) {
+            CachedDocument newDocument = new CachedDocument();
+            cachedDocument = documents.putIfAbsent(key, newDocument);
+            if (cachedDocument == null) {
+                missCount.increment();
+                evictionQueue.offer(key);
+                parse(key, newDocument, executionInput, parseAndValidateFunction);
+                evictIfNeeded();
+                return newDocument.entry;
+            }
+        }
+        cachedDocument.used = true;
+        hitCount.increment();
+        return cachedDocument.entry;
+    }
+
+    private void parse(DocumentKey key, CachedDocument document, ExecutionInput executionInput,
+                       Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        try {
+            document.entry.complete(parseAndValidateFunction.apply(executionInput));
+        } catch (RuntimeException e) {
+            documents.remove(key, document);
+            document.entry.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (documents.size() > maximumSize) {
+            DocumentKey key = evictionQueue.poll();
+            if (key == null) {
+                return;
+            }
+            CachedDocument document = documents.get(key);
+            if (document == null) {
+                continue;
+            }
+            if (document.used) {
+                document.used = false;
+                evictionQueue.offer(key);
+            } else if (documents.remove(key, document)) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached documents. The metrics are kept.
+     */
+    public void invalidateAll() {
+        documents.clear();
+        evictionQueue.clear();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of cached documents
+     */
+    public int getSize() {
+        return documents.size();
+    }
+
+    /**
+     * @return the number of requests whose document was found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of requests whose document was parsed and validated
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of documents that were evicted because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private static class CachedDocument {
+        private final CompletableFuture<PreparsedDocumentEntry> entry = new CompletableFuture<>();
+        private volatile boolean used;
+    }
+
+    private static class DocumentKey {
+        private final String query;
+        private final String operationName;
+        private final int hashCode;
+
+        DocumentKey(String query, String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+            this.hashCode = 31 * query.hashCode() + Objects.hashCode(operationName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DocumentKey)) return false;
+            DocumentKey that = (DocumentKey) o;
+            return hashCode == that.hashCode && query.equals(that.query) && Objects.equals(operationName, that.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ErrorType;
+import graphql.GraphQLError;
+import graphql.language.SourceLocation;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The error of a field that did not complete before its {@link graphql.annotations.annotationTypes.GraphQLTimeout}
+ * or before the {@link RequestDeadline} of the request.
+ */
+public class DataFetcherTimeoutException extends RuntimeException implements GraphQLError {
+    private final List<Object> path;
+    private final List<SourceLocation> locations;
+
+    public DataFetcherTimeoutException(DataFetchingEnvironment environment, String message) {
+        super(message, null, false, false);
+        this.path = environment.getExecutionStepInfo().getPath().toList();
+        SourceLocation location = environment.getField() == null ? null : environment.getField().getSourceLocation();
+        this.locations = location == null ? null : Collections.singletonList(location);
+    }
+
+    @Override
+    public List<SourceLocation> getLocations() {
+        return locations;
+    }
+
+    @Override
+    public ErrorType getErrorType() {
+        return ErrorType.ExecutionAborted;
+    }
+
+    @Override
+    public List<Object> getPath() {
+        return path;
+    }
+}
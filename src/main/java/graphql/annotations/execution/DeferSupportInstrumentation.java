@@ -0,0 +1,38 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+
+/**
+ * Executes the requests with incremental delivery, so the fragments marked with {@code @defer} are sent after the
+ * initial response, as an {@link graphql.incremental.IncrementalExecutionResult}.
+ * A request whose {@link GraphQLContext} already sets {@link ExperimentalApi#ENABLE_INCREMENTAL_SUPPORT} is left as is,
+ * so clients that cannot read incremental responses can opt out.
+ */
+public class DeferSupportInstrumentation extends SimplePerformantInstrumentation {
+
+    @Override
+    public ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        GraphQLContext context = executionInput.getGraphQLContext();
+        if (!context.hasKey(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT)) {
+            context.put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true);
+        }
+        return executionInput;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+/**
+ * The cost of a field, as recorded at schema build from {@link graphql.annotations.annotationTypes.GraphQLCost}
+ * and {@link graphql.annotations.connection.GraphQLConnection}.
+ */
+public class FieldCost {
+    public static final int DEFAULT_COST = 1;
+
+    private final int cost;
+    private final boolean connection;
+
+    public FieldCost(int cost, boolean connection) {
+        this.cost = cost;
+        this.connection = connection;
+    }
+
+    /**
+     * @return the cost of resolving the field itself
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return true if the cost of the selections of the field is multiplied by the requested page size
+     */
+    public boolean isConnection() {
+        return connection;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.annotations.dataFetchers.MemoizingDataFetcher;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Releases the values memoized by {@link MemoizingDataFetcher} when a request completes, so a {@link graphql.GraphQLContext}
+ * that is reused for several requests does not serve the values of a previous request, nor keep them alive.
+ * With incremental delivery, the request completes with its initial result, and its deferred fields are no longer memoized.
+ */
+public class MemoizationInstrumentation extends SimplePerformantInstrumentation {
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        MemoizingDataFetcher.clear(parameters.getGraphQLContext(), parameters.getExecutionInput().getExecutionId());
+        return CompletableFuture.completedFuture(executionResult);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.annotations.dataFetchers.DelegatingDataFetcher;
+import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.dataFetchers.ScopedDataFetcher;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import org.dataloader.DataLoaderRegistry;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * Detects N+1 fetching patterns: fields that are fetched once per element of a parent list, each fetch going to the
+ * backend on its own. The fetches of every field are counted per request, together with the parent lists they were
+ * made in. A field is reported when it was fetched at least a threshold number of times, more than once per list,
+ * and none of its fetches was batched - a fetch counts as batched when it queued a load in a data loader of the
+ * {@link DataLoaderRegistry} of the request. A fetch that returns a pending future without going through a data loader
+ * is not batched: it still reaches the backend on its own, and is counted as asynchronous in the report.
+ * <p>
+ * In development, the reports are written into the {@link #EXTENSION_KEY} extension of the response. In production,
+ * a sample of the requests can be analyzed and reported to a {@link NPlusOneListener} instead.
+ * Trivial (property) data fetchers are not counted.
+ */
+public class NPlusOneInstrumentation extends SimplePerformantInstrumentation {
+    public static final String EXTENSION_KEY = "nPlusOne";
+    public static final int DEFAULT_THRESHOLD = 2;
+
+    private final NPlusOneListener listener;
+    private final double sampleRate;
+    private final int threshold;
+
+    /**
+     * Analyze every request, and report into the extensions of the response
+     */
+    public NPlusOneInstrumentation() {
+        this(null, 1, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param listener   the listener the reports are sent to
+     * @param sampleRate the ratio of the requests that are analyzed, from 0 to 1
+     */
+    public NPlusOneInstrumentation(NPlusOneListener listener, double sampleRate) {
+        this(listener, sampleRate, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param listener   the listener the reports are sent to, or null to report into the extensions of the response
+     * @param sampleRate the ratio of the requests that are analyzed, from 0 to 1
+     * @param threshold  the minimal number of fetches of a field in lists for it to be reported
+     */
+    public NPlusOneInstrumentation(NPlusOneListener listener, double sampleRate, int threshold) {
+        this.listener = listener;
+        this.sampleRate = sampleRate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new FetchCounts();
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (!(state instanceof FetchCounts) || parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+        ResultPath listPath = getListPath(stepInfo.getPath());
+        if (listPath == null) {
+            return dataFetcher;
+        }
+        FieldCount count = ((FetchCounts) state).getCount(
+                coordinates(stepInfo.getObjectType().getName(), stepInfo.getFieldDefinition().getName()), dataFetcher);
+        return environment -> {
+            DataLoaderRegistry registry = environment.getDataLoaderRegistry();
+            int dispatchDepth = registry == null ? 0 : registry.dispatchDepth();
+            Object value = dataFetcher.get(environment);
+            if (registry != null && registry.dispatchDepth() > dispatchDepth) {
+                count.record(listPath, FetchKind.BATCHED);
+            } else {
+                count.record(listPath, value instanceof Future && !((Future<?>) value).isDone() ? FetchKind.ASYNC : FetchKind.SYNC);
+            }
+            return value;
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        if (!(state instanceof FetchCounts)) {
+            return super.instrumentExecutionResult(executionResult, parameters, state);
+        }
+        List<NPlusOneReport> reports = ((FetchCounts) state).getReports(threshold);
+        if (reports.isEmpty()) {
+            return super.instrumentExecutionResult(executionResult, parameters, state);
+        }
+        if (listener != null) {
+            listener.onNPlusOne(parameters.getExecutionInput(), reports);
+            return super.instrumentExecutionResult(executionResult, parameters, state);
+        }
+        List<Map<String, Object>> extension = new ArrayList<>();
+        for (NPlusOneReport report : reports) {
+            extension.add(report.toMap());
+        }
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult().from(executionResult)
+                .addExtension(EXTENSION_KEY, extension).build());
+    }
+
+    /**
+     * @return the path of the nearest list the field is fetched in, or null if it is not fetched in a list
+     */
+    private static ResultPath getListPath(ResultPath path) {
+        for (ResultPath parent = path.getParent(); parent != null && !parent.isRootPath(); parent = parent.getParent()) {
+            if (parent.isListSegment()) {
+                return parent.getParent();
+            }
+        }
+        return null;
+    }
+
+    private static String describe(DataFetcher<?> dataFetcher) {
+        dataFetcher = DelegatingDataFetcher.unwrap(dataFetcher);
+        if (dataFetcher instanceof MethodDataFetcher) {
+            Method method = ((MethodDataFetcher<?>) dataFetcher).getMethod();
+            return method.getDeclaringClass().getName() + "." + method.getName();
+        }
+        if (dataFetcher instanceof ScopedDataFetcher) {
+            return ((ScopedDataFetcher) dataFetcher).getDataFetcherClass().getName();
+        }
+        return dataFetcher.getClass().getName();
+    }
+
+    private static class FetchCounts implements InstrumentationState {
+        private final Map<FieldCoordinates, FieldCount> counts = new ConcurrentHashMap<>();
+
+        FieldCount getCount(FieldCoordinates fieldCoordinates, DataFetcher<?> dataFetcher) {
+            FieldCount count = counts.get(fieldCoordinates);
+            return count != null ? count : counts.computeIfAbsent(fieldCoordinates, key -> new FieldCount(key, describe(dataFetcher)));
+        }
+
+        List<NPlusOneReport> getReports(int threshold) {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            for (FieldCount count : counts.values()) {
+                long invocations = count.invocations.sum();
+                int listCount = count.lists.size();
+                if (invocations >= threshold && invocations > listCount && count.batched.sum() == 0) {
+                    reports.add(new NPlusOneReport(count.fieldCoordinates, count.fetcher, invocations, listCount, count.async.sum()));
+                }
+            }
+            return reports;
+        }
+    }
+
+    private static class FieldCount {
+        private final FieldCoordinates fieldCoordinates;
+        private final String fetcher;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder batched = new LongAdder();
+        private final LongAdder async = new LongAdder();
+        private final Set<ResultPath> lists = ConcurrentHashMap.newKeySet();
+
+        FieldCount(FieldCoordinates fieldCoordinates, String fetcher) {
+            this.fieldCoordinates = fieldCoordinates;
+            this.fetcher = fetcher;
+        }
+
+        void record(ResultPath listPath, FetchKind kind) {
+            invocations.increment();
+            lists.add(listPath);
+            if (kind == FetchKind.BATCHED) {
+                batched.increment();
+            } else if (kind == FetchKind.ASYNC) {
+                async.increment();
+            }
+        }
+    }
+
+    private enum FetchKind {
+        SYNC, ASYNC, BATCHED
+    }
+}
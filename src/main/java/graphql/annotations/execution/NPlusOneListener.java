@@ -0,0 +1,29 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionInput;
+
+import java.util.List;
+
+/**
+ * Receives the N+1 fetching patterns detected by {@link NPlusOneInstrumentation} in a sampled request, e.g. to log them.
+ */
+@FunctionalInterface
+public interface NPlusOneListener {
+    /**
+     * @param executionInput the input of the request
+     * @param reports        the fields that were fetched once per list element without batching
+     */
+    void onNPlusOne(ExecutionInput executionInput, List<NPlusOneReport> reports);
+}
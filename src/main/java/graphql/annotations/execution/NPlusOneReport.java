@@ -0,0 +1,92 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.schema.FieldCoordinates;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A field that was fetched once per element of its parent lists, without batching.
+ */
+public class NPlusOneReport {
+    private final FieldCoordinates fieldCoordinates;
+    private final String fetcher;
+    private final long invocations;
+    private final int listCount;
+    private final long asyncInvocations;
+
+    public NPlusOneReport(FieldCoordinates fieldCoordinates, String fetcher, long invocations, int listCount) {
+        this(fieldCoordinates, fetcher, invocations, listCount, 0);
+    }
+
+    public NPlusOneReport(FieldCoordinates fieldCoordinates, String fetcher, long invocations, int listCount, long asyncInvocations) {
+        this.fieldCoordinates = fieldCoordinates;
+        this.fetcher = fetcher;
+        this.invocations = invocations;
+        this.listCount = listCount;
+        this.asyncInvocations = asyncInvocations;
+    }
+
+    public FieldCoordinates getFieldCoordinates() {
+        return fieldCoordinates;
+    }
+
+    /**
+     * @return the Java method behind the field (e.g. {@code com.example.User.posts}), or the class of its data fetcher
+     */
+    public String getFetcher() {
+        return fetcher;
+    }
+
+    /**
+     * @return the number of times the field was fetched in the request
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * @return the number of parent lists the field was fetched in
+     */
+    public int getListCount() {
+        return listCount;
+    }
+
+    /**
+     * @return the number of fetches that returned a pending future without going through a data loader
+     */
+    public long getAsyncInvocations() {
+        return asyncInvocations;
+    }
+
+    /**
+     * @return the report as it is written into the extensions of the response
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("field", fieldCoordinates.getTypeName() + "." + fieldCoordinates.getFieldName());
+        map.put("fetcher", fetcher);
+        map.put("invocations", invocations);
+        map.put("lists", listCount);
+        map.put("async", asyncInvocations);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "N+1 fetching of " + fieldCoordinates.getTypeName() + "." + fieldCoordinates.getFieldName() + " by " + fetcher
+                + ": " + invocations + " invocations (" + asyncInvocations + " asynchronous) in " + listCount + " lists";
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.execution.AbortExecutionException;
+
+/**
+ * Thrown by {@link QueryCostInstrumentation} when the cost of an operation exceeds the budget.
+ * The execution is aborted and the exception is returned as the error of the result.
+ */
+public class QueryCostExceededException extends AbortExecutionException {
+    private final long cost;
+    private final long maximumCost;
+
+    public QueryCostExceededException(long cost, long maximumCost) {
+        super("The query cost " + cost + " exceeds the maximum cost " + maximumCost);
+        this.cost = cost;
+        this.maximumCost = maximumCost;
+    }
+
+    public long getCost() {
+        return cost;
+    }
+
+    public long getMaximumCost() {
+        return maximumCost;
+    }
+}
@@ -0,0 +1,301 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Argument;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * Rejects operations whose cost exceeds a budget, before they are executed.
+ * The cost of an operation is the sum of the costs of its fields (see {@link graphql.annotations.annotationTypes.GraphQLCost}),
+ * where the cost of the selections of a connection field is multiplied by its `first` or `last` argument, or by a
+ * default page size when neither is given.
+ * <p>
+ * The analysis of an operation is compiled once per parsed document: evaluating it for another request of the same
+ * document only applies the variables of the request. Use it together with a {@link CachingPreparsedDocumentProvider},
+ * so hot queries share the same parsed document.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final CostNode[] NO_CHILDREN = new CostNode[0];
+
+    private final Map<FieldCoordinates, FieldCost> fieldCosts;
+    private final long maximumCost;
+    private final int defaultPageSize;
+    private final Map<OperationDefinition, CostPlan> plans = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param fieldCosts  the costs of the fields, as recorded in {@link graphql.annotations.processor.ProcessingElementsContainer#getFieldCosts()}
+     * @param maximumCost the maximal cost of an operation
+     */
+    public QueryCostInstrumentation(Map<FieldCoordinates, FieldCost> fieldCosts, long maximumCost) {
+        this(fieldCosts, maximumCost, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param fieldCosts      the costs of the fields, as recorded in {@link graphql.annotations.processor.ProcessingElementsContainer#getFieldCosts()}
+     * @param maximumCost     the maximal cost of an operation
+     * @param defaultPageSize the page size of connection fields that are queried without `first` and `last`
+     */
+    public QueryCostInstrumentation(Map<FieldCoordinates, FieldCost> fieldCosts, long maximumCost, int defaultPageSize) {
+        this.fieldCosts = fieldCosts;
+        this.maximumCost = maximumCost;
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        long cost = getCost(parameters.getExecutionContext());
+        if (cost > maximumCost) {
+            throw new QueryCostExceededException(cost, maximumCost);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * @param executionContext the context of the execution of an operation
+     * @return the cost of the operation with the variables of the execution
+     * @throws QueryCostExceededException if the operation selects more fields than the maximum cost, in which case it is not analyzed further
+     */
+    public long getCost(ExecutionContext executionContext) {
+        OperationDefinition operation = executionContext.getOperationDefinition();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        CostPlan plan = plans.get(operation);
+        if (plan == null || plan.schema != schema) {
+            List<CostNode> nodes = new ArrayList<>();
+            compile(getRootType(schema, operation), operation.getSelectionSet(), new Compilation(executionContext.getFragmentsByName(), schema), nodes);
+            plan = new CostPlan(schema, nodes.toArray(NO_CHILDREN));
+            plans.put(operation, plan);
+        }
+        Map<String, Object> variables = executionContext.getCoercedVariables().toMap();
+        Map<CostNode, Long> fragmentCosts = new IdentityHashMap<>();
+        long cost = 0;
+        for (CostNode node : plan.nodes) {
+            cost = add(cost, evaluate(node, variables, fragmentCosts));
+        }
+        return cost;
+    }
+
+    /**
+     * @return the number of operations whose compiled analysis is cached
+     */
+    public int getCacheSize() {
+        return plans.size();
+    }
+
+    public long getMaximumCost() {
+        return maximumCost;
+    }
+
+    private static GraphQLObjectType getRootType(GraphQLSchema schema, OperationDefinition operation) {
+        switch (operation.getOperation()) {
+            case MUTATION:
+                return schema.getMutationType();
+            case SUBSCRIPTION:
+                return schema.getSubscriptionType();
+            default:
+                return schema.getQueryType();
+        }
+    }
+
+    private void compile(GraphQLType parentType, SelectionSet selectionSet, Compilation compilation, List<CostNode> nodes) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                compileField(parentType, (Field) selection, compilation, nodes);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                GraphQLType type = inlineFragment.getTypeCondition() == null ? parentType : compilation.schema.getType(inlineFragment.getTypeCondition().getName());
+                compile(type, inlineFragment.getSelectionSet(), compilation, nodes);
+            } else if (selection instanceof FragmentSpread) {
+                CostNode fragmentNode = compileFragment(((FragmentSpread) selection).getName(), compilation);
+                if (fragmentNode != null) {
+                    nodes.add(fragmentNode);
+                }
+            }
+        }
+    }
+
+    /**
+     * A fragment is compiled once per operation, and its node is shared by all of its spreads, so a document whose
+     * fragments spread each other several times is compiled and evaluated in linear time
+     */
+    private CostNode compileFragment(String name, Compilation compilation) {
+        if (compilation.compiledFragments.containsKey(name)) {
+            return compilation.compiledFragments.get(name);
+        }
+        FragmentDefinition fragment = compilation.fragments.get(name);
+        if (fragment == null) {
+            return null;
+        }
+        // a spread inside the fragment itself is an invalid document, and is not charged
+        compilation.compiledFragments.put(name, null);
+        List<CostNode> children = new ArrayList<>();
+        compile(compilation.schema.getType(fragment.getTypeCondition().getName()), fragment.getSelectionSet(), compilation, children);
+        CostNode fragmentNode = new CostNode(0, null, children.toArray(NO_CHILDREN), true);
+        compilation.compiledFragments.put(name, fragmentNode);
+        return fragmentNode;
+    }
+
+    private void compileField(GraphQLType parentType, Field field, Compilation compilation, List<CostNode> nodes) {
+        // introspection fields are not charged
+        if (field.getName().startsWith("__") || !(parentType instanceof GraphQLFieldsContainer)) {
+            return;
+        }
+        GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) parentType;
+        GraphQLFieldDefinition fieldDefinition = fieldsContainer.getFieldDefinition(field.getName());
+        if (fieldDefinition == null) {
+            return;
+        }
+        // every field costs at least one unless configured otherwise, so a document with more fields than the budget is not compiled further
+        if (++compilation.fieldsCount > maximumCost) {
+            throw new QueryCostExceededException(compilation.fieldsCount, maximumCost);
+        }
+        FieldCost fieldCost = fieldCosts.get(coordinates(fieldsContainer.getName(), field.getName()));
+        List<CostNode> children = new ArrayList<>();
+        compile(GraphQLTypeUtil.unwrapAll(fieldDefinition.getType()), field.getSelectionSet(), compilation, children);
+
+        List<Value> pageSizes = null;
+        if (fieldCost != null && fieldCost.isConnection()) {
+            pageSizes = new ArrayList<>();
+            for (Argument argument : field.getArguments()) {
+                if (argument.getName().equals("first") || argument.getName().equals("last")) {
+                    pageSizes.add(argument.getValue());
+                }
+            }
+        }
+        nodes.add(new CostNode(fieldCost == null ? FieldCost.DEFAULT_COST : fieldCost.getCost(), pageSizes,
+                children.isEmpty() ? NO_CHILDREN : children.toArray(NO_CHILDREN), false));
+    }
+
+    private long evaluate(CostNode node, Map<String, Object> variables, Map<CostNode, Long> fragmentCosts) {
+        if (node.fragment) {
+            Long cost = fragmentCosts.get(node);
+            if (cost != null) {
+                return cost;
+            }
+        }
+        long childrenCost = 0;
+        for (CostNode child : node.children) {
+            childrenCost = add(childrenCost, evaluate(child, variables, fragmentCosts));
+        }
+        if (node.pageSizes != null) {
+            childrenCost = multiply(childrenCost, getPageSize(node.pageSizes, variables));
+        }
+        long cost = add(node.cost, childrenCost);
+        if (node.fragment) {
+            fragmentCosts.put(node, cost);
+        }
+        return cost;
+    }
+
+    private long getPageSize(List<Value> pageSizes, Map<String, Object> variables) {
+        long pageSize = -1;
+        for (Value value : pageSizes) {
+            Object size = null;
+            if (value instanceof IntValue) {
+                size = ((IntValue) value).getValue();
+            } else if (value instanceof VariableReference) {
+                size = variables.get(((VariableReference) value).getName());
+            }
+            if (size instanceof Number) {
+                pageSize = Math.max(pageSize, Math.max(0, ((Number) size).longValue()));
+            }
+        }
+        return pageSize < 0 ? defaultPageSize : pageSize;
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static class CostPlan {
+        private final GraphQLSchema schema;
+        private final CostNode[] nodes;
+
+        private CostPlan(GraphQLSchema schema, CostNode[] nodes) {
+            this.schema = schema;
+            this.nodes = nodes;
+        }
+    }
+
+    private static class Compilation {
+        private final Map<String, FragmentDefinition> fragments;
+        private final GraphQLSchema schema;
+        private final Map<String, CostNode> compiledFragments = new HashMap<>();
+        private long fieldsCount;
+
+        private Compilation(Map<String, FragmentDefinition> fragments, GraphQLSchema schema) {
+            this.fragments = fragments;
+            this.schema = schema;
+        }
+    }
+
+    private static class CostNode {
+        private final int cost;
+        private final List<Value> pageSizes;
+        private final CostNode[] children;
+        private final boolean fragment;
+
+        private CostNode(int cost, List<Value> pageSizes, CostNode[] children, boolean fragment) {
+            this.cost = cost;
+            this.pageSizes = pageSizes;
+            this.children = children;
+            this.fragment = fragment;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The deadline of a request, carried in its {@link GraphQLContext} under {@link #CONTEXT_KEY}:
+ * <pre>
+ * ExecutionInput.newExecutionInput(query)
+ *     .graphQLContext(builder -&gt; builder.of(RequestDeadline.CONTEXT_KEY, RequestDeadline.after(Duration.ofSeconds(2))))
+ * </pre>
+ * The futures of the asynchronous fields that are still pending are tracked, so they can be cancelled once the
+ * request has completed or failed (see {@link RequestDeadlineInstrumentation}), or when the client has gone.
+ * Cancelling passes {@code mayInterruptIfRunning}, so futures that support it interrupt the thread that computes them.
+ */
+public class RequestDeadline {
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private final long deadlineNanos;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param timeout the time the request may take from now
+     * @return a new deadline
+     */
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @param environment the data fetching environment of a field
+     * @return the deadline of the request of the field, or null if it has none
+     */
+    public static RequestDeadline get(DataFetchingEnvironment environment) {
+        GraphQLContext context = environment.getGraphQLContext();
+        return context == null ? null : context.get(CONTEXT_KEY);
+    }
+
+    /**
+     * @return the nanoseconds left until the deadline, zero or less if it has expired or the request was cancelled
+     */
+    public long getRemainingNanos() {
+        return cancelled ? 0 : deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return getRemainingNanos() <= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Track a pending future of the request, which is cancelled if the request is cancelled before it completes
+     *
+     * @param future the future of an asynchronous field
+     */
+    public void track(CompletableFuture<?> future) {
+        if (future.isDone()) {
+            return;
+        }
+        pending.add(future);
+        future.whenComplete((value, throwable) -> pending.remove(future));
+        if (cancelled) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel the request: the deadline expires, and the pending futures of the request are cancelled
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * @return the number of tracked futures that did not complete yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
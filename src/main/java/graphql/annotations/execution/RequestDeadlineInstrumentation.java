@@ -0,0 +1,76 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.annotations.dataFetchers.TimeoutDataFetcher;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.schema.DataFetcher;
+
+import java.time.Duration;
+
+/**
+ * Enforces the {@link RequestDeadline} of the requests on all their non trivial fields, not only on the fields annotated
+ * with {@link graphql.annotations.annotationTypes.GraphQLTimeout}.
+ * Once a request has completed (or failed), its futures that are still pending are cancelled, so the threads and
+ * connections that compute them can be released. The futures of the deferred fragments of an incremental request are
+ * not cancelled when its initial response completes.
+ */
+public class RequestDeadlineInstrumentation extends SimplePerformantInstrumentation {
+    private final Duration defaultTimeout;
+
+    /**
+     * Enforce only the deadlines the requests are executed with
+     */
+    public RequestDeadlineInstrumentation() {
+        this(null);
+    }
+
+    /**
+     * @param defaultTimeout the timeout of the requests that are executed without a deadline
+     */
+    public RequestDeadlineInstrumentation(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        GraphQLContext context = parameters.getGraphQLContext();
+        RequestDeadline deadline = defaultTimeout == null ? context.get(RequestDeadline.CONTEXT_KEY)
+                : context.computeIfAbsent(RequestDeadline.CONTEXT_KEY, key -> RequestDeadline.after(defaultTimeout));
+        if (deadline == null) {
+            return super.beginExecution(parameters, state);
+        }
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            // the deferred fragments of an incremental result are still being fetched, within the deadline
+            if (!(result instanceof IncrementalExecutionResult) || !((IncrementalExecutionResult) result).hasNext()) {
+                deadline.cancel();
+            }
+        });
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher() || dataFetcher instanceof TimeoutDataFetcher) {
+            return dataFetcher;
+        }
+        return new TimeoutDataFetcher(dataFetcher, 0);
+    }
+}
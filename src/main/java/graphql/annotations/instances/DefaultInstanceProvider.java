@@ -0,0 +1,26 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.instances;
+
+import graphql.annotations.processor.util.ReflectionKit;
+
+/**
+ * The default instance provider - creates instances by the static getInstance method of the class if present,
+ * otherwise by its default constructor. The way to create each class is resolved once and cached.
+ */
+public class DefaultInstanceProvider implements InstanceProvider {
+    @Override
+    public <T> T getInstance(Class<T> clazz) {
+        return ReflectionKit.instanceSupplier(clazz).get();
+    }
+}
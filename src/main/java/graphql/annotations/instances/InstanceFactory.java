@@ -0,0 +1,25 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.instances;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Returns the instance of a class to use for a single field resolution, according to the scope of the class
+ *
+ * @param <T> the type of the instance
+ */
+@FunctionalInterface
+public interface InstanceFactory<T> {
+    T getInstance(DataFetchingEnvironment environment);
+}
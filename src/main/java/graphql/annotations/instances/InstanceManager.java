@@ -0,0 +1,145 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.instances;
+
+import graphql.GraphQLContext;
+import graphql.annotations.annotationTypes.GraphQLInstanceScope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Applies the scope of a class to the instances supplied by an {@link InstanceProvider}.
+ * Singletons are cached for the lifetime of the manager (i.e. of the schema), and request scoped instances are
+ * cached in the {@link GraphQLContext} of the execution.
+ */
+public class InstanceManager {
+    private final InstanceProvider instanceProvider;
+    private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Object> configuredSingletons = new ConcurrentHashMap<>();
+    // identity hash codes are not unique, so the request instances of the manager are keyed by an object only it holds
+    private final Object requestInstancesKey = new Object();
+
+    public InstanceManager(InstanceProvider instanceProvider) {
+        this.instanceProvider = instanceProvider;
+    }
+
+    public InstanceManager() {
+        this(new DefaultInstanceProvider());
+    }
+
+    /**
+     * @param clazz the class of the instance
+     * @param <T>   the type of the class
+     * @return the single instance of the class
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getSingleton(Class<T> clazz) {
+        return (T) singletons.computeIfAbsent(clazz, instanceProvider::getInstance);
+    }
+
+    /**
+     * The instances are canonicalized by their arguments, so all the elements that are configured with the same
+     * arguments share a single instance.
+     *
+     * @param clazz     the class of the instance
+     * @param arguments the arguments of the instance
+     * @param <T>       the type of the class
+     * @return the single instance of the class that is configured with the arguments
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getSingleton(Class<T> clazz, String[] arguments) {
+        if (arguments.length == 0) {
+            return getSingleton(clazz);
+        }
+        return (T) configuredSingletons.computeIfAbsent(instanceKey(clazz, arguments),
+                key -> instanceProvider.getInstance(clazz, arguments.clone()));
+    }
+
+    /**
+     * Resolves the scope of a class - the scope it is annotated with using {@link GraphQLInstanceScope}, or the given default scope.
+     * This is meant to be called when the schema is built.
+     *
+     * @param clazz        the class of the instances
+     * @param defaultScope the scope to use if the class is not annotated with {@link GraphQLInstanceScope}
+     * @param <T>          the type of the class
+     * @return a factory that returns the instance to use in each field resolution
+     */
+    public <T> InstanceFactory<T> getInstanceFactory(Class<T> clazz, InstanceScope defaultScope) {
+        switch (getScope(clazz, defaultScope)) {
+            case SINGLETON:
+                T singleton = getSingleton(clazz);
+                return environment -> singleton;
+            case REQUEST:
+                return environment -> getRequestInstance(clazz, clazz, environment.getGraphQLContext(), instanceProvider::getInstance);
+            default:
+                return environment -> instanceProvider.getInstance(clazz);
+        }
+    }
+
+    /**
+     * Same as {@link #getInstanceFactory(Class, InstanceScope)}, for instances that are configured with arguments
+     *
+     * @param clazz        the class of the instances
+     * @param arguments    the arguments of the instances
+     * @param defaultScope the scope to use if the class is not annotated with {@link GraphQLInstanceScope}
+     * @param <T>          the type of the class
+     * @return a factory that returns the instance to use in each field resolution
+     */
+    public <T> InstanceFactory<T> getInstanceFactory(Class<T> clazz, String[] arguments, InstanceScope defaultScope) {
+        if (arguments.length == 0) {
+            return getInstanceFactory(clazz, defaultScope);
+        }
+        String[] instanceArguments = arguments.clone();
+        switch (getScope(clazz, defaultScope)) {
+            case SINGLETON:
+                T singleton = getSingleton(clazz, instanceArguments);
+                return environment -> singleton;
+            case REQUEST:
+                List<Object> key = instanceKey(clazz, instanceArguments);
+                return environment -> getRequestInstance(clazz, key, environment.getGraphQLContext(),
+                        c -> instanceProvider.getInstance(c, instanceArguments.clone()));
+            default:
+                return environment -> instanceProvider.getInstance(clazz, instanceArguments.clone());
+        }
+    }
+
+    public InstanceScope getScope(Class<?> clazz, InstanceScope defaultScope) {
+        GraphQLInstanceScope scope = clazz.getAnnotation(GraphQLInstanceScope.class);
+        return scope == null ? defaultScope : scope.value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getRequestInstance(Class<T> clazz, Object key, GraphQLContext context, Function<Class<T>, T> instanceSupplier) {
+        if (context == null) {
+            return instanceSupplier.apply(clazz);
+        }
+        Map<Object, Object> requestInstances = context.computeIfAbsent(requestInstancesKey, contextKey -> new ConcurrentHashMap<Object, Object>());
+        return (T) requestInstances.computeIfAbsent(key, instanceKey -> instanceSupplier.apply(clazz));
+    }
+
+    private static List<Object> instanceKey(Class<?> clazz, String[] arguments) {
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(clazz);
+        key.addAll(Arrays.asList(arguments));
+        return key;
+    }
+
+    public InstanceProvider getInstanceProvider() {
+        return instanceProvider;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.instances;
+
+import graphql.annotations.processor.util.ReflectionKit;
+import graphql.schema.DataFetcher;
+
+/**
+ * An SPI that supplies instances of the classes referenced by annotations - data fetchers, connection fetchers, type
+ * resolvers and the declaring classes of methods annotated with {@link graphql.annotations.annotationTypes.GraphQLInvokeDetached}.
+ * Implement it in order to take these instances from a dependency injection container.
+ * <p>
+ * The provider is only asked for an instance when the scope of the class requires a new one, see {@link InstanceScope}.
+ */
+public interface InstanceProvider {
+    /**
+     * @param clazz the class of the required instance
+     * @param <T>   the type of the class
+     * @return an instance of the class
+     */
+    <T> T getInstance(Class<T> clazz);
+
+    /**
+     * Supplies an instance that is configured with arguments, such as a data fetcher declared with
+     * {@link graphql.annotations.annotationTypes.GraphQLDataFetcher#args()}.
+     * By default, the instance is created by a constructor that accepts the arguments.
+     *
+     * @param clazz     the class of the required instance
+     * @param arguments the arguments of the instance
+     * @param <T>       the type of the class
+     * @return an instance of the class, configured with the arguments
+     */
+    default <T> T getInstance(Class<T> clazz, String[] arguments) {
+        return ReflectionKit.newInstanceWithArguments(clazz, arguments);
+    }
+
+    /**
+     * Supplies an instance that wraps a data fetcher, such as a connection fetcher.
+     * By default, the instance is created by a public constructor that accepts the data fetcher.
+     *
+     * @param clazz       the class of the required instance
+     * @param dataFetcher the data fetcher the instance wraps
+     * @param <T>         the type of the class
+     * @return an instance of the class, wrapping the data fetcher
+     */
+    default <T> T getInstance(Class<T> clazz, DataFetcher<?> dataFetcher) {
+        T instance = ReflectionKit.newInstance(clazz, dataFetcher);
+        if (instance == null) {
+            throw new IllegalArgumentException(clazz.getSimpleName() + " doesn't have a single argument constructor that accepts "
+                    + dataFetcher.getClass().getSimpleName());
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.instances;
+
+/**
+ * Determines how long an instance obtained from an {@link InstanceProvider} is used
+ */
+public enum InstanceScope {
+    /**
+     * One instance is obtained when the schema is built and is shared by all the requests
+     */
+    SINGLETON,
+    /**
+     * One instance is obtained per request (execution) and is shared by all the fields resolved in that request
+     */
+    REQUEST,
+    /**
+     * A new instance is obtained on every field resolution
+     */
+    CALL
+}
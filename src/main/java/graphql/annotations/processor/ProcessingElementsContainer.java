@@ -15,11 +15,18 @@
 package graphql.annotations.processor;
 
 
+import graphql.annotations.execution.BulkheadRegistry;
+import graphql.annotations.execution.CacheHint;
+import graphql.annotations.execution.FieldCost;
+import graphql.annotations.instances.InstanceManager;
+import graphql.annotations.instances.InstanceProvider;
 import graphql.annotations.processor.graphQLProcessors.GraphQLInputProcessor;
 import graphql.annotations.processor.graphQLProcessors.GraphQLOutputProcessor;
 import graphql.annotations.processor.typeFunctions.DefaultTypeFunction;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.annotations.tracing.Tracing;
 import graphql.relay.Relay;
+import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
 
@@ -27,6 +34,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Executor;
 
 import static graphql.annotations.processor.util.InputPropertiesUtil.DEFAULT_INPUT_PREFIX;
 import static graphql.annotations.processor.util.InputPropertiesUtil.DEFAULT_INPUT_SUFFIX;
@@ -43,6 +51,16 @@ public class ProcessingElementsContainer {
     private Stack<String> processing;
     private String inputPrefix = DEFAULT_INPUT_PREFIX;
     private String inputSuffix = DEFAULT_INPUT_SUFFIX;
+    private InstanceManager instanceManager = new InstanceManager();
+    private SchemaElementsInterner interner = new SchemaElementsInterner();
+    private Map<FieldCoordinates, Set<String>> fieldVisibility = new HashMap<>();
+    private Map<FieldCoordinates, FieldCost> fieldCosts = new HashMap<>();
+    private Map<FieldCoordinates, CacheHint> fieldCacheHints = new HashMap<>();
+    private Map<String, CacheHint> typeCacheHints = new HashMap<>();
+    private BulkheadRegistry bulkheads = new BulkheadRegistry();
+    private Tracing tracing;
+    private Executor deferExecutor;
+    private boolean memoizedFields;
 
     public Map<String, DirectiveAndWiring> getDirectiveRegistry() {
         return directiveRegistry;
@@ -136,4 +154,81 @@ public class ProcessingElementsContainer {
     public GraphQLCodeRegistry.Builder getCodeRegistryBuilder() {
         return this.codeRegistryBuilder;
     }
+
+    public InstanceManager getInstanceManager() {
+        return instanceManager;
+    }
+
+    public void setInstanceProvider(InstanceProvider instanceProvider) {
+        this.instanceManager = new InstanceManager(instanceProvider);
+    }
+
+    public SchemaElementsInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * @return the roles each field restricted with {@link graphql.annotations.annotationTypes.GraphQLVisibleTo} is visible to
+     */
+    public Map<FieldCoordinates, Set<String>> getFieldVisibility() {
+        return fieldVisibility;
+    }
+
+    /**
+     * @return the costs of the fields annotated with {@link graphql.annotations.annotationTypes.GraphQLCost} and of the connection fields
+     */
+    public Map<FieldCoordinates, FieldCost> getFieldCosts() {
+        return fieldCosts;
+    }
+
+    /**
+     * @return the cache hints of the fields annotated with {@link graphql.annotations.annotationTypes.GraphQLCacheControl}
+     */
+    public Map<FieldCoordinates, CacheHint> getFieldCacheHints() {
+        return fieldCacheHints;
+    }
+
+    /**
+     * @return the cache hints of the types annotated with {@link graphql.annotations.annotationTypes.GraphQLCacheControl}, by type name
+     */
+    public Map<String, CacheHint> getTypeCacheHints() {
+        return typeCacheHints;
+    }
+
+    public BulkheadRegistry getBulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * @return the tracing configuration the data fetchers are built with, or null if the fields are not traced
+     */
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public void setTracing(Tracing tracing) {
+        this.tracing = tracing;
+    }
+
+    /**
+     * @return the executor the deferred {@link graphql.annotations.annotationTypes.GraphQLDeferrable} fields are called on, or null if they are called directly
+     */
+    public Executor getDeferExecutor() {
+        return deferExecutor;
+    }
+
+    public void setDeferExecutor(Executor deferExecutor) {
+        this.deferExecutor = deferExecutor;
+    }
+
+    /**
+     * @return whether a method annotated with {@link graphql.annotations.annotationTypes.GraphQLMemoize} was processed
+     */
+    public boolean hasMemoizedFields() {
+        return memoizedFields;
+    }
+
+    public void setMemoizedFields(boolean memoizedFields) {
+        this.memoizedFields = memoizedFields;
+    }
 }
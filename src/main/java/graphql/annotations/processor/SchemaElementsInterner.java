@@ -0,0 +1,136 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor;
+
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.InputValueWithState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonicalizes identical schema elements that are created while processing the annotated classes, so a schema in which
+ * the same directive, argument or description is applied on many elements holds a single instance of it.
+ * <p>
+ * Elements are considered identical if all their properties are equal. Nested schema elements (such as types) are
+ * compared by identity, so only elements that are built out of the same types are canonicalized.
+ * <p>
+ * The canonical elements are only needed while the types are created, so
+ * {@link graphql.annotations.AnnotationsSchemaCreator.Builder#build()} clears the interner once the schema is built.
+ */
+public class SchemaElementsInterner {
+    private final Map<String, String> descriptions = new HashMap<>();
+    private final Map<List<Object>, GraphQLDirective> directives = new HashMap<>();
+    private final Map<List<Object>, GraphQLArgument> arguments = new HashMap<>();
+    private int internedCount;
+    private int reusedCount;
+
+    /**
+     * @param description a description, may be null
+     * @return the canonical instance of the description
+     */
+    public String internDescription(String description) {
+        if (description == null) {
+            return null;
+        }
+        return intern(descriptions, description, description);
+    }
+
+    /**
+     * @param directive an applied directive
+     * @return the canonical instance of the directive
+     */
+    public GraphQLDirective internDirective(GraphQLDirective directive) {
+        List<Object> key = new ArrayList<>(Arrays.asList(directive.getName(), directive.getDescription(), directive.isRepeatable(),
+                directive.validLocations(), directive.getDefinition()));
+        for (GraphQLArgument argument : directive.getArguments()) {
+            key.add(internArgument(argument));
+        }
+        return intern(directives, key, directive);
+    }
+
+    /**
+     * Arguments with directives are not canonicalized, as their directives are wired separately for every field they belong to.
+     *
+     * @param argument an argument, or an argument of an applied directive
+     * @return the canonical instance of the argument
+     */
+    public GraphQLArgument internArgument(GraphQLArgument argument) {
+        if (!argument.getDirectives().isEmpty()) {
+            return argument;
+        }
+        List<Object> key = Arrays.asList(argument.getName(), argument.getDescription(), argument.getType(),
+                argument.getDeprecationReason(), valueOf(argument.getArgumentDefaultValue()), valueOf(argument.getArgumentValue()),
+                argument.getDefinition());
+        return intern(arguments, key, argument);
+    }
+
+    /**
+     * @param arguments a list of arguments
+     * @return a list of the canonical instances of the arguments
+     */
+    public List<GraphQLArgument> internArguments(List<GraphQLArgument> arguments) {
+        List<GraphQLArgument> result = new ArrayList<>(arguments.size());
+        for (GraphQLArgument argument : arguments) {
+            result.add(internArgument(argument));
+        }
+        return result;
+    }
+
+    private static Object valueOf(InputValueWithState value) {
+        if (value == null || value.isNotSet()) {
+            return null;
+        }
+        Object content = value.getValue();
+        // array values (of annotation arguments) are compared by their elements
+        return Arrays.asList(value.isLiteral(), content instanceof Object[] ? Arrays.asList((Object[]) content) : content);
+    }
+
+    private <K, V> V intern(Map<K, V> internedElements, K key, V element) {
+        V interned = internedElements.putIfAbsent(key, element);
+        if (interned == null) {
+            internedCount++;
+            return element;
+        }
+        reusedCount++;
+        return interned;
+    }
+
+    /**
+     * Releases the canonical elements. Elements interned afterwards are not canonicalized with the released ones.
+     * The counts are kept.
+     */
+    public void clear() {
+        descriptions.clear();
+        directives.clear();
+        arguments.clear();
+    }
+
+    /**
+     * @return the number of distinct elements
+     */
+    public int getInternedCount() {
+        return internedCount;
+    }
+
+    /**
+     * @return the number of elements that were replaced by an identical element
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+}
@@ -13,8 +13,13 @@
 package graphql.annotations.processor.retrievers;
 
 
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
+import graphql.annotations.annotationTypes.GraphQLCost;
 import graphql.annotations.annotationTypes.GraphQLRelayMutation;
+import graphql.annotations.annotationTypes.GraphQLVisibleTo;
 import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.execution.CacheHint;
+import graphql.annotations.execution.FieldCost;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.fieldBuilders.ArgumentBuilder;
@@ -40,7 +45,9 @@ import org.osgi.service.component.annotations.ReferencePolicyOption;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -76,19 +83,22 @@ public class GraphQLFieldRetriever {
         boolean isConnection = ConnectionUtil.isConnection(method, outputType);
         if (isConnection) {
             outputType = getGraphQLConnection(method, outputType, ConnectionUtil.getRelay(method, container), container.getTypeRegistry());
-            builder.arguments(ConnectionUtil.getRelay(method, container).getConnectionFieldArguments());
+            builder.arguments(container.getInterner().internArguments(ConnectionUtil.getRelay(method, container).getConnectionFieldArguments()));
         }
         builder.type(outputType);
         DirectivesBuilder directivesBuilder = new DirectivesBuilder(method, container);
         builder.withDirectives(directivesBuilder.build());
         List<GraphQLArgument> args = new ArgumentBuilder(method, typeFunction, builder, container, outputType).build();
         GraphQLFieldDefinition relayFieldDefinition = handleRelayArguments(method, container, builder, outputType, args);
-        builder.description(new DescriptionBuilder(method).build())
+        builder.description(container.getInterner().internDescription(new DescriptionBuilder(method).build()))
                 .deprecate(new DeprecateBuilder(method).build())
                 .build();
 
         DataFetcher dataFetcher = new MethodDataFetcherBuilder(method, outputType, typeFunction, container, relayFieldDefinition, args, dataFetcherConstructor, isConnection).build();
         container.getCodeRegistryBuilder().dataFetcher(coordinates(parentName, fieldName), dataFetcher);
+        recordVisibility(method, parentName, fieldName, container);
+        recordCost(method, isConnection, parentName, fieldName, container);
+        recordCacheHint(method, parentName, fieldName, container);
         return builder.build();
     }
 
@@ -102,14 +112,17 @@ public class GraphQLFieldRetriever {
         boolean isConnection = ConnectionUtil.isConnection(field, outputType);
         if (isConnection) {
             outputType = getGraphQLConnection(field, outputType, ConnectionUtil.getRelay(field, container), container.getTypeRegistry());
-            builder.arguments(ConnectionUtil.getRelay(field, container).getConnectionFieldArguments());
+            builder.arguments(container.getInterner().internArguments(ConnectionUtil.getRelay(field, container).getConnectionFieldArguments()));
         }
 
         DataFetcher dataFetcher = new FieldDataFetcherBuilder(field, dataFetcherConstructor, outputType, typeFunction, container, isConnection).build();
-        builder.type((GraphQLOutputType) outputType).description(new DescriptionBuilder(field).build())
+        builder.type((GraphQLOutputType) outputType).description(container.getInterner().internDescription(new DescriptionBuilder(field).build()))
                 .deprecate(new DeprecateBuilder(field).build());
 
         container.getCodeRegistryBuilder().dataFetcher(coordinates(parentName, fieldName), dataFetcher);
+        recordVisibility(field, parentName, fieldName, container);
+        recordCost(field, isConnection, parentName, fieldName, container);
+        recordCacheHint(field, parentName, fieldName, container);
 
         GraphQLDirective[] graphQLDirectives = new DirectivesBuilder(field, container).build();
         builder.withDirectives(graphQLDirectives);
@@ -124,7 +137,7 @@ public class GraphQLFieldRetriever {
         GraphQLInputType inputType = (GraphQLInputType) new MethodTypeBuilder(method, typeFunction, container, true).build();
         builder.withDirectives(new DirectivesBuilder(method, container).build());
         return builder.type(inputType)
-                .description(new DescriptionBuilder(method).build()).build();
+                .description(container.getInterner().internDescription(new DescriptionBuilder(method).build())).build();
     }
 
     public GraphQLInputObjectField getInputField(Field field, ProcessingElementsContainer container, String parentName) throws GraphQLAnnotationsException {
@@ -134,7 +147,29 @@ public class GraphQLFieldRetriever {
         GraphQLType graphQLType = typeFunction.buildType(true, field.getType(), field.getAnnotatedType(), container);
         builder.withDirectives(new DirectivesBuilder(field, container).build());
         return builder.type((GraphQLInputType) graphQLType)
-                .description(new DescriptionBuilder(field).build()).build();
+                .description(container.getInterner().internDescription(new DescriptionBuilder(field).build())).build();
+    }
+
+    private void recordVisibility(AccessibleObject object, String parentName, String fieldName, ProcessingElementsContainer container) {
+        GraphQLVisibleTo visibleTo = object.getAnnotation(GraphQLVisibleTo.class);
+        if (visibleTo != null) {
+            container.getFieldVisibility().put(coordinates(parentName, fieldName), new HashSet<>(Arrays.asList(visibleTo.value())));
+        }
+    }
+
+    private void recordCost(AccessibleObject object, boolean isConnection, String parentName, String fieldName, ProcessingElementsContainer container) {
+        GraphQLCost cost = object.getAnnotation(GraphQLCost.class);
+        if (cost != null || isConnection) {
+            container.getFieldCosts().put(coordinates(parentName, fieldName),
+                    new FieldCost(cost == null ? FieldCost.DEFAULT_COST : cost.value(), isConnection));
+        }
+    }
+
+    private void recordCacheHint(AccessibleObject object, String parentName, String fieldName, ProcessingElementsContainer container) {
+        CacheHint cacheHint = CacheHint.of(object.getAnnotation(GraphQLCacheControl.class));
+        if (cacheHint != null) {
+            container.getFieldCacheHints().put(coordinates(parentName, fieldName), cacheHint);
+        }
     }
 
     private GraphQLFieldDefinition handleRelayArguments(Method method, ProcessingElementsContainer container, GraphQLFieldDefinition.Builder builder, GraphQLOutputType outputType, List<GraphQLArgument> args) {
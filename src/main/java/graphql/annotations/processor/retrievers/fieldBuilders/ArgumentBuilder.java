@@ -66,7 +66,7 @@ public class ArgumentBuilder implements Builder<List<GraphQLArgument>> {
         GraphQLArgument.Builder argumentBuilder = newArgument().type(inputType);
         GraphQLDescription description = parameter.getAnnotation(GraphQLDescription.class);
         if (description != null) {
-            argumentBuilder.description(description.value());
+            argumentBuilder.description(container.getInterner().internDescription(description.value()));
         }
         GraphQLDefaultValue defaultValue = parameter.getAnnotation(GraphQLDefaultValue.class);
         if (defaultValue != null) {
@@ -79,7 +79,7 @@ public class ArgumentBuilder implements Builder<List<GraphQLArgument>> {
             argumentBuilder.name(toGraphqlName(parameter.getName()));
         }
         argumentBuilder.withDirectives(new DirectivesBuilder(parameter, container).build());
-        return argumentBuilder.build();
+        return container.getInterner().internArgument(argumentBuilder.build());
     }
 
 }
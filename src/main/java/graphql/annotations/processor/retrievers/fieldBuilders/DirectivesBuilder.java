@@ -58,7 +58,7 @@ public class DirectivesBuilder implements Builder<GraphQLDirective[]> {
                     String name = DirectiveJavaAnnotationUtil.getName(annotation);
                     if (container.getDirectiveRegistry().containsKey(name)) {
                         GraphQLDirective graphQLDirective = transformArgs(container.getDirectiveRegistry().get(name).getDirective(), annotation);
-                        graphQLDirectives.add(graphQLDirective);
+                        graphQLDirectives.add(container.getInterner().internDirective(graphQLDirective));
                     } else {
                         throw new GraphQLAnnotationsException(String.format(NOT_FOUND_IN_DIRECTIVE_REGISTRY_ERROR, name), null);
                     }
@@ -70,7 +70,8 @@ public class DirectivesBuilder implements Builder<GraphQLDirective[]> {
             List<GraphQLDirective> oldGraphQLDirectives = Arrays.stream(directives.value())
                     .map(x -> {
                                 if (container.getDirectiveRegistry().containsKey(x.name())) {
-                                    return transformArgs(container.getDirectiveRegistry().get(x.name()).getDirective(), x.argumentsValues());
+                                    return container.getInterner().internDirective(
+                                            transformArgs(container.getDirectiveRegistry().get(x.name()).getDirective(), x.argumentsValues()));
                                 } else {
                                     throw new GraphQLAnnotationsException(String.format(NOT_FOUND_IN_DIRECTIVE_REGISTRY_ERROR, x.name()), null);
                                 }
@@ -14,15 +14,22 @@
  */
 package graphql.annotations.processor.retrievers.fieldBuilders.field;
 
+import graphql.annotations.annotationTypes.GraphQLBulkhead;
 import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLTimeout;
 import graphql.annotations.annotationTypes.GraphQLTypeExtension;
 import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.dataFetchers.BulkheadDataFetcher;
 import graphql.annotations.dataFetchers.ExtensionDataFetcherWrapper;
+import graphql.annotations.dataFetchers.FieldAccessDataFetcher;
 import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.dataFetchers.TimeoutDataFetcher;
+import graphql.annotations.dataFetchers.TracingDataFetcher;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.retrievers.fieldBuilders.Builder;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.annotations.processor.util.DataFetcherConstructor;
+import graphql.annotations.tracing.Tracing;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLType;
@@ -57,7 +64,7 @@ public class FieldDataFetcherBuilder implements Builder<DataFetcher> {
         GraphQLDataFetcher dataFetcher = field.getAnnotation(GraphQLDataFetcher.class);
         DataFetcher actualDataFetcher = null;
         if (nonNull(dataFetcher)) {
-            actualDataFetcher = dataFetcherConstructor.constructDataFetcher(field.getName(), dataFetcher);
+            actualDataFetcher = dataFetcherConstructor.constructDataFetcher(field.getName(), dataFetcher, container);
         }
 
         if (actualDataFetcher == null) {
@@ -65,14 +72,32 @@ public class FieldDataFetcherBuilder implements Builder<DataFetcher> {
         }
 
         if (isConnection) {
-            actualDataFetcher = getConnectionDataFetcher(field.getAnnotation(GraphQLConnection.class), actualDataFetcher);
+            actualDataFetcher = getConnectionDataFetcher(field.getAnnotation(GraphQLConnection.class), actualDataFetcher, container);
+        }
+
+        GraphQLBulkhead bulkhead = field.getAnnotation(GraphQLBulkhead.class);
+        if (bulkhead == null && isConnection) {
+            bulkhead = field.getAnnotation(GraphQLConnection.class).connectionFetcher().getAnnotation(GraphQLBulkhead.class);
+        }
+        if (bulkhead != null) {
+            actualDataFetcher = new BulkheadDataFetcher(actualDataFetcher, container.getBulkheads().getBulkhead(bulkhead));
+        }
+
+        GraphQLTimeout timeout = field.getAnnotation(GraphQLTimeout.class);
+        if (timeout != null) {
+            actualDataFetcher = new TimeoutDataFetcher(actualDataFetcher, timeout.value());
+        }
+
+        Tracing tracing = container.getTracing();
+        if (tracing != null && nonNull(dataFetcher)) {
+            actualDataFetcher = new TracingDataFetcher(actualDataFetcher, tracing, dataFetcher.value().getName(), null);
         }
         return actualDataFetcher;
     }
 
     private DataFetcher handleNullCase(DataFetcher actualDataFetcher) {
 
-        // if there is getter for fields type, use propertyDataFetcher, otherwise use method directly
+        // if there is getter for fields type, use propertyDataFetcher, otherwise use method or field directly
         if (isaBoolean()) {
             actualDataFetcher = getBooleanDataFetcher(actualDataFetcher);
         } else if (checkIfPrefixGetterExists(field.getDeclaringClass(), "get", field.getName())) {
@@ -82,7 +107,7 @@ public class FieldDataFetcherBuilder implements Builder<DataFetcher> {
         }
 
         if (actualDataFetcher == null) {
-            actualDataFetcher = wrapExtension(new PropertyDataFetcher(field.getName()), field);
+            actualDataFetcher = wrapExtension(new FieldAccessDataFetcher(field), field);
         }
         return actualDataFetcher;
     }
@@ -14,15 +14,25 @@
  */
 package graphql.annotations.processor.retrievers.fieldBuilders.method;
 
+import graphql.annotations.annotationTypes.GraphQLBulkhead;
 import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLDeferrable;
+import graphql.annotations.annotationTypes.GraphQLMemoize;
 import graphql.annotations.annotationTypes.GraphQLRelayMutation;
+import graphql.annotations.annotationTypes.GraphQLTimeout;
 import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.dataFetchers.BulkheadDataFetcher;
+import graphql.annotations.dataFetchers.DeferrableDataFetcher;
+import graphql.annotations.dataFetchers.MemoizingDataFetcher;
 import graphql.annotations.dataFetchers.MethodDataFetcher;
 import graphql.annotations.dataFetchers.RelayMutationMethodDataFetcher;
+import graphql.annotations.dataFetchers.TimeoutDataFetcher;
+import graphql.annotations.dataFetchers.TracingDataFetcher;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.retrievers.fieldBuilders.Builder;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.annotations.processor.util.DataFetcherConstructor;
+import graphql.annotations.tracing.Tracing;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
@@ -63,7 +73,7 @@ public class MethodDataFetcherBuilder implements Builder<DataFetcher> {
         if (dataFetcher == null) {
             actualDataFetcher = new MethodDataFetcher(method, typeFunction, container);
         } else {
-            actualDataFetcher = dataFetcherConstructor.constructDataFetcher(method.getName(), dataFetcher);
+            actualDataFetcher = dataFetcherConstructor.constructDataFetcher(method.getName(), dataFetcher, container);
         }
 
         if (method.isAnnotationPresent(GraphQLRelayMutation.class) && relayFieldDefinition != null) {
@@ -71,7 +81,37 @@ public class MethodDataFetcherBuilder implements Builder<DataFetcher> {
         }
 
         if (isConnection){
-            actualDataFetcher = getConnectionDataFetcher(method.getAnnotation(GraphQLConnection.class), actualDataFetcher);
+            actualDataFetcher = getConnectionDataFetcher(method.getAnnotation(GraphQLConnection.class), actualDataFetcher, container);
+        }
+
+        if (container.getDeferExecutor() != null
+                && (method.isAnnotationPresent(GraphQLDeferrable.class) || method.getDeclaringClass().isAnnotationPresent(GraphQLDeferrable.class))) {
+            actualDataFetcher = new DeferrableDataFetcher(actualDataFetcher, container.getDeferExecutor());
+        }
+
+        GraphQLBulkhead bulkhead = method.getAnnotation(GraphQLBulkhead.class);
+        if (bulkhead == null && isConnection) {
+            bulkhead = method.getAnnotation(GraphQLConnection.class).connectionFetcher().getAnnotation(GraphQLBulkhead.class);
+        }
+        if (bulkhead != null) {
+            actualDataFetcher = new BulkheadDataFetcher(actualDataFetcher, container.getBulkheads().getBulkhead(bulkhead));
+        }
+
+        GraphQLTimeout timeout = method.getAnnotation(GraphQLTimeout.class);
+        if (timeout != null) {
+            actualDataFetcher = new TimeoutDataFetcher(actualDataFetcher, timeout.value());
+        }
+
+        Tracing tracing = container.getTracing();
+        if (tracing != null) {
+            actualDataFetcher = dataFetcher == null
+                    ? new TracingDataFetcher(actualDataFetcher, tracing, method.getDeclaringClass().getName(), method.getName())
+                    : new TracingDataFetcher(actualDataFetcher, tracing, dataFetcher.value().getName(), null);
+        }
+
+        if (method.isAnnotationPresent(GraphQLMemoize.class)) {
+            actualDataFetcher = new MemoizingDataFetcher(actualDataFetcher);
+            container.setMemoizedFields(true);
         }
         return actualDataFetcher;
     }
@@ -14,9 +14,11 @@
  */
 package graphql.annotations.processor.typeBuilders;
 
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLField;
 import graphql.annotations.annotationTypes.GraphQLTypeResolver;
+import graphql.annotations.execution.CacheHint;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.CannotCastMemberException;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
@@ -31,7 +33,6 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
-import static graphql.annotations.processor.util.ReflectionKit.newInstance;
 import static graphql.schema.GraphQLInterfaceType.newInterface;
 
 /**
@@ -69,6 +70,10 @@ public class InterfaceBuilder {
 
         String typeName = graphQLObjectInfoRetriever.getTypeName(iface);
         builder.name(typeName);
+        CacheHint cacheHint = CacheHint.of(iface.getAnnotation(GraphQLCacheControl.class));
+        if (cacheHint != null) {
+            container.getTypeCacheHints().put(typeName, cacheHint);
+        }
         GraphQLDescription description = iface.getAnnotation(GraphQLDescription.class);
         if (description != null) {
             builder.description(description.value());
@@ -86,7 +91,7 @@ public class InterfaceBuilder {
         builder.fields(extensionsHandler.getExtensionFields(iface, definedFields, container));
 
         GraphQLTypeResolver typeResolver = iface.getAnnotation(GraphQLTypeResolver.class);
-        container.getCodeRegistryBuilder().typeResolver(typeName, newInstance(typeResolver.value()));
+        container.getCodeRegistryBuilder().typeResolver(typeName, container.getInstanceManager().getSingleton(typeResolver.value()));
         return builder;
     }
 }
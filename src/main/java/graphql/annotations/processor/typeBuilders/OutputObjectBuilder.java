@@ -14,8 +14,10 @@
  */
 package graphql.annotations.processor.typeBuilders;
 
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLTypeResolver;
+import graphql.annotations.execution.CacheHint;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.GraphQLExtensionsHandler;
@@ -69,6 +71,10 @@ public class OutputObjectBuilder {
         GraphQLObjectType.Builder builder = newObject();
         String typeName = graphQLObjectInfoRetriever.getTypeName(object);
         builder.name(typeName);
+        CacheHint cacheHint = CacheHint.of(object.getAnnotation(GraphQLCacheControl.class));
+        if (cacheHint != null) {
+            container.getTypeCacheHints().put(typeName, cacheHint);
+        }
         GraphQLDescription description = object.getAnnotation(GraphQLDescription.class);
         if (description != null) {
             builder.description(description.value());
@@ -15,9 +15,11 @@
 package graphql.annotations.processor.typeBuilders;
 
 
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLType;
 import graphql.annotations.annotationTypes.GraphQLUnion;
+import graphql.annotations.execution.CacheHint;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
@@ -60,6 +62,10 @@ public class UnionBuilder {
         GraphQLUnion unionAnnotation = iface.getAnnotation(GraphQLUnion.class);
         String typeName = graphQLObjectInfoRetriever.getTypeName(iface);
         builder.name(typeName);
+        CacheHint cacheHint = CacheHint.of(iface.getAnnotation(GraphQLCacheControl.class));
+        if (cacheHint != null) {
+            container.getTypeCacheHints().put(typeName, cacheHint);
+        }
         GraphQLDescription description = iface.getAnnotation(GraphQLDescription.class);
         if (description != null) {
             builder.description(description.value());
@@ -91,7 +97,7 @@ public class UnionBuilder {
         return typeResolverConstructorOptional
                 .map(constructor -> {
                     if (constructor.getParameterCount() == 0) {
-                        return (TypeResolver) constructNewInstance(constructor);
+                        return (TypeResolver) container.getInstanceManager().getSingleton(constructor.getDeclaringClass());
                     } else {
                         return (TypeResolver) constructNewInstance(constructor, unionAnnotation.possibleTypes(), container);
                     }
@@ -64,6 +64,7 @@ public class DefaultTypeFunction implements TypeFunction {
         typeFunctions.add(new IterableFunction(DefaultTypeFunction.this));
         typeFunctions.add(new ArrayFunction(DefaultTypeFunction.this));
         typeFunctions.add(new StreamFunction(DefaultTypeFunction.this));
+        typeFunctions.add(new KeysetSourceFunction(DefaultTypeFunction.this));
         typeFunctions.add(new OptionalFunction(DefaultTypeFunction.this));
         typeFunctions.add(new ObjectFunction(graphQLInputProcessor, graphQLOutputProcessor));
     }
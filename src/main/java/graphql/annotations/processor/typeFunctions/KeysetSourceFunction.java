@@ -0,0 +1,55 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.typeFunctions;
+
+import graphql.annotations.connection.keyset.KeysetSource;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLType;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.ParameterizedType;
+
+/**
+ * Support for {@link KeysetSource}, which is a list of its entities (paginated by a keyset connection)
+ */
+class KeysetSourceFunction implements TypeFunction {
+
+    private DefaultTypeFunction defaultTypeFunction;
+
+    public KeysetSourceFunction(DefaultTypeFunction defaultTypeFunction) {
+        this.defaultTypeFunction = defaultTypeFunction;
+    }
+
+    @Override
+    public boolean canBuildType(Class<?> aClass, AnnotatedType annotatedType) {
+        return KeysetSource.class.isAssignableFrom(aClass);
+    }
+
+    @Override
+    public GraphQLType buildType(boolean input, Class<?> aClass, AnnotatedType annotatedType, ProcessingElementsContainer container) {
+        if (!(annotatedType instanceof AnnotatedParameterizedType)) {
+            throw new IllegalArgumentException("KeysetSource type parameter should be specified");
+        }
+        AnnotatedParameterizedType parameterizedType = (AnnotatedParameterizedType) annotatedType;
+        AnnotatedType arg = parameterizedType.getAnnotatedActualTypeArguments()[0];
+        Class<?> klass;
+        if (arg.getType() instanceof ParameterizedType) {
+            klass = (Class<?>) ((ParameterizedType) (arg.getType())).getRawType();
+        } else {
+            klass = (Class<?>) arg.getType();
+        }
+        return new GraphQLList(defaultTypeFunction.buildType(input, klass, arg, container));
+    }
+}
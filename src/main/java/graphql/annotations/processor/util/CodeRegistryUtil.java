@@ -12,14 +12,17 @@
  */
 package graphql.annotations.processor.util;
 
+import graphql.annotations.dataFetchers.PipelineDataFetcher;
 import graphql.annotations.directives.AnnotationsWiringEnvironment;
 import graphql.schema.*;
 
 import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 
 public class CodeRegistryUtil {
     /**
      * This util method helps you wrap your datafetcher with some lambda code
+     * Wrapping the same field more than once adds another stage to a single {@link PipelineDataFetcher} instead of nesting data fetchers
      *
      * @param fieldDefinition The field you want to wrap its datafetcher
      * @param environment     the environment object of the Wiring process
@@ -27,11 +30,32 @@ public class CodeRegistryUtil {
      */
     public static void wrapDataFetcher(GraphQLFieldDefinition fieldDefinition, AnnotationsWiringEnvironment environment,
                                        BiFunction<DataFetchingEnvironment, Object, Object> mapFunction) {
-        String parentName = ((GraphQLNamedSchemaElement) environment.getParentElement()).getName();
+        PipelineDataFetcher pipeline = getPipelineDataFetcher(fieldDefinition, environment);
+        setDataFetcher(fieldDefinition, environment, pipeline.withPostStage(mapFunction));
+    }
+
+    /**
+     * This util method helps you change the data fetching environment before your datafetcher is called
+     *
+     * @param fieldDefinition The field you want to wrap its datafetcher
+     * @param environment     the environment object of the Wiring process
+     * @param preFunction     the lambda expression that returns the data fetching environment the datafetcher is called with
+     */
+    public static void wrapDataFetchingEnvironment(GraphQLFieldDefinition fieldDefinition, AnnotationsWiringEnvironment environment,
+                                                   UnaryOperator<DataFetchingEnvironment> preFunction) {
+        PipelineDataFetcher pipeline = getPipelineDataFetcher(fieldDefinition, environment);
+        setDataFetcher(fieldDefinition, environment, pipeline.withPreStage(preFunction));
+    }
+
+    private static PipelineDataFetcher getPipelineDataFetcher(GraphQLFieldDefinition fieldDefinition, AnnotationsWiringEnvironment environment) {
         DataFetcher originalDataFetcher = getDataFetcher(environment.getCodeRegistryBuilder(), environment.getParentElement(), fieldDefinition);
-        DataFetcher wrappedDataFetcher = DataFetcherFactories.wrapDataFetcher(originalDataFetcher, mapFunction);
+        return PipelineDataFetcher.of(originalDataFetcher);
+    }
+
+    private static void setDataFetcher(GraphQLFieldDefinition fieldDefinition, AnnotationsWiringEnvironment environment, DataFetcher dataFetcher) {
+        String parentName = ((GraphQLNamedSchemaElement) environment.getParentElement()).getName();
         environment.getCodeRegistryBuilder()
-                .dataFetcher(FieldCoordinates.coordinates(parentName, fieldDefinition.getName()), wrappedDataFetcher);
+                .dataFetcher(FieldCoordinates.coordinates(parentName, fieldDefinition.getName()), dataFetcher);
     }
 
     /**
@@ -15,52 +15,58 @@
 package graphql.annotations.processor.util;
 
 import graphql.annotations.annotationTypes.GraphQLDataFetcher;
-import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.annotations.dataFetchers.ScopedDataFetcher;
+import graphql.annotations.instances.InstanceManager;
+import graphql.annotations.instances.InstanceScope;
+import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.schema.DataFetcher;
 import org.osgi.service.component.annotations.Component;
 
-import java.lang.reflect.Constructor;
-import java.util.stream.Stream;
-
-import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
 import static graphql.annotations.processor.util.ReflectionKit.newInstance;
-import static java.util.Arrays.stream;
+import static graphql.annotations.processor.util.ReflectionKit.newInstanceWithArguments;
 
 @Component(service = DataFetcherConstructor.class)
 public class DataFetcherConstructor {
     public DataFetcher constructDataFetcher(String fieldName, GraphQLDataFetcher annotatedDataFetcher) {
+        return constructDataFetcher(fieldName, annotatedDataFetcher, null);
+    }
+
+    /**
+     * Constructs the data fetcher of an annotated field.
+     * If a container is given, the instance is taken from the instance manager of the container, according to the
+     * scope of the data fetcher class (singleton by default). Singletons are shared by all the fields that declare
+     * the same data fetcher class with the same arguments.
+     *
+     * @param fieldName            the name of the annotated field or method
+     * @param annotatedDataFetcher the data fetcher annotation
+     * @param container            the processing elements container, or null
+     * @return the data fetcher
+     */
+    public DataFetcher constructDataFetcher(String fieldName, GraphQLDataFetcher annotatedDataFetcher, ProcessingElementsContainer container) {
         final String[] args;
         if (annotatedDataFetcher.firstArgIsTargetName()) {
-            args = Stream.concat(Stream.of(fieldName), stream(annotatedDataFetcher.args())).toArray(String[]::new);
+            String[] annotationArgs = annotatedDataFetcher.args();
+            args = new String[annotationArgs.length + 1];
+            args[0] = fieldName;
+            System.arraycopy(annotationArgs, 0, args, 1, annotationArgs.length);
         } else {
             args = annotatedDataFetcher.args();
         }
+        Class<? extends DataFetcher> dataFetcherClass = annotatedDataFetcher.value();
+        if (container != null) {
+            return getScopedDataFetcher(dataFetcherClass, args, container.getInstanceManager());
+        }
         if (args.length == 0) {
-            return newInstance(annotatedDataFetcher.value());
-        } else {
-            return Stream.of(annotatedDataFetcher.value().getConstructors())
-                    // filter only constructor that have the same args as the annotation args
-                    // or that get String[], String... args
-                    .filter(x -> (x.getParameterCount() == args.length) ||
-                            (x.getParameterTypes().length == 1 && x.getParameterTypes()[0] == String[].class))
-                    .map(x -> {
-                        try {
-                            Constructor<? extends DataFetcher> constructor;
-                            if (x.getParameterTypes().length == 1 && x.getParameterTypes()[0] == String[].class) {
-                                constructor = annotatedDataFetcher.value().getDeclaredConstructor(String[].class);
-                                return constructNewInstance(constructor, new Object[]{args});
-                            }
+            return newInstance(dataFetcherClass);
+        }
+        return newInstanceWithArguments(dataFetcherClass, args);
+    }
 
-                            constructor = annotatedDataFetcher.value().getDeclaredConstructor(
-                                    stream(args).map(v -> String.class).toArray(Class[]::new));
-                            return constructNewInstance(constructor, (Object[]) args);
-                        } catch (NoSuchMethodException e) {
-                            throw new GraphQLAnnotationsException("Unable to instantiate DataFetcher via constructor for: " + fieldName, e);
-                        }
-                    })
-                    .findFirst()
-                    .orElseThrow(NoArgsConstructorException::new);
+    private DataFetcher getScopedDataFetcher(Class<? extends DataFetcher> dataFetcherClass, String[] args, InstanceManager instanceManager) {
+        if (instanceManager.getScope(dataFetcherClass, InstanceScope.SINGLETON) == InstanceScope.SINGLETON) {
+            return instanceManager.getSingleton(dataFetcherClass, args);
         }
+        return new ScopedDataFetcher(dataFetcherClass, instanceManager.getInstanceFactory(dataFetcherClass, args, InstanceScope.SINGLETON));
     }
 
     public static class NoArgsConstructorException extends RuntimeException {
@@ -20,25 +20,69 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A package level helper in calling reflective methods and turning them into
  * GraphQLAnnotationsException runtime exceptions
  */
 public class ReflectionKit {
+    // a class value is dropped together with its class, so caching does not keep the class loaders of the classes alive
+    private static final ClassValue<ClassMetadata> CLASS_METADATA = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> clazz) {
+            return new ClassMetadata(clazz);
+        }
+    };
+
     public static <T> T newInstance(Class<T> clazz) throws GraphQLAnnotationsException {
+        return instanceSupplier(clazz).get();
+    }
+
+    /**
+     * Resolves how instances of a class are created: by its static getInstance method if present, otherwise by its default constructor.
+     * The resolution is done once per class and cached, so the returned supplier only does the actual creation.
+     *
+     * @param clazz the class to create instances of
+     * @param <T>   the type of the class
+     * @return a supplier of instances of the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> instanceSupplier(Class<T> clazz) {
+        return (Supplier<T>) CLASS_METADATA.get(clazz).getInstanceSupplier();
+    }
+
+    private static Supplier<?> resolveInstanceSupplier(Class<?> clazz) {
+        for (Method method : clazz.getMethods()) {
+            if (method.getName().equals("getInstance") && method.getParameterCount() == 0 &&
+                    Modifier.isStatic(method.getModifiers()) && clazz.isAssignableFrom(method.getReturnType())) {
+                return () -> {
+                    try {
+                        return method.invoke(null);
+                    } catch (InvocationTargetException | IllegalAccessException e) {
+                        throw new GraphQLAnnotationsException("Unable to instantiate class : " + clazz, e);
+                    }
+                };
+            }
+        }
         try {
-            try {
-                Method getInstance = clazz.getMethod("getInstance", new Class<?>[0]);
-                if (Modifier.isStatic(getInstance.getModifiers()) && clazz.isAssignableFrom(getInstance.getReturnType())) {
-                    return (T) getInstance.invoke(null);
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+                    throw new GraphQLAnnotationsException("Unable to instantiate class : " + clazz, e);
                 }
-            } catch (NoSuchMethodException e) {
-                // ignore, just call the constructor
-            }
-            return clazz.newInstance();
-        } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
-            throw new GraphQLAnnotationsException("Unable to instantiate class : " + clazz, e);
+            };
+        } catch (NoSuchMethodException e) {
+            return () -> {
+                throw new GraphQLAnnotationsException("Unable to instantiate class : " + clazz, e);
+            };
         }
     }
 
@@ -61,12 +105,116 @@ public class ReflectionKit {
 
     public static <T> T newInstance(Class<T> clazz, Object parameter) {
         if (parameter != null) {
-            for (Constructor<T> constructor : (Constructor<T>[]) clazz.getConstructors()) {
-                if (constructor.getParameterCount() == 1 && constructor.getParameters()[0].getType().isAssignableFrom(parameter.getClass())) {
-                    return constructNewInstance(constructor, parameter);
-                }
+            Constructor<T> constructor = adapterConstructor(clazz, parameter.getClass());
+            if (constructor != null) {
+                return constructNewInstance(constructor, parameter);
             }
         }
         return null;
     }
+
+    /**
+     * Finds the public single argument constructor of a class that accepts a parameter of the given type.
+     * The lookup is done once per (class, parameter type) pair and cached.
+     *
+     * @param clazz         the class to construct
+     * @param parameterType the type of the constructor argument
+     * @param <T>           the type of the class
+     * @return the constructor, or null if the class has no such constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Constructor<T> adapterConstructor(Class<T> clazz, Class<?> parameterType) {
+        return (Constructor<T>) CLASS_METADATA.get(clazz).adapterConstructors
+                .computeIfAbsent(parameterType, p -> findAdapterConstructor(clazz, p))
+                .orElse(null);
+    }
+
+    private static Optional<Constructor<?>> findAdapterConstructor(Class<?> clazz, Class<?> parameterType) {
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0].isAssignableFrom(parameterType)) {
+                return Optional.of(constructor);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates an instance of a class out of string arguments, using a constructor that accepts a String array,
+     * or a constructor with a String parameter per argument.
+     *
+     * @param clazz     the class to construct
+     * @param arguments the constructor arguments
+     * @param <T>       the type of the class
+     * @return a new instance of the class
+     * @throws DataFetcherConstructor.NoArgsConstructorException if no constructor fits the arguments
+     */
+    public static <T> T newInstanceWithArguments(Class<T> clazz, String[] arguments) {
+        Function<String[], T> factory = argumentsInstanceFactory(clazz, arguments.length);
+        if (factory == null) {
+            throw new DataFetcherConstructor.NoArgsConstructorException();
+        }
+        return factory.apply(arguments);
+    }
+
+    /**
+     * Resolves how instances of a class are created out of a given number of string arguments.
+     * The first public constructor that either accepts a String array or has a parameter per argument is used.
+     * The resolution is done once per (class, number of arguments) pair and cached.
+     *
+     * @param clazz          the class to construct
+     * @param argumentsCount the number of arguments
+     * @param <T>            the type of the class
+     * @return a function that creates instances out of the arguments, or null if no constructor fits
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<String[], T> argumentsInstanceFactory(Class<T> clazz, int argumentsCount) {
+        return (Function<String[], T>) CLASS_METADATA.get(clazz).argumentsFactories
+                .computeIfAbsent(argumentsCount, count -> findArgumentsInstanceFactory(clazz, count))
+                .orElse(null);
+    }
+
+    private static Optional<Function<String[], ?>> findArgumentsInstanceFactory(Class<?> clazz, int argumentsCount) {
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0] == String[].class) {
+                return Optional.of(arguments -> constructNewInstance(constructor, new Object[]{arguments}));
+            }
+            if (constructor.getParameterCount() == argumentsCount) {
+                Class<?>[] parameterTypes = new Class<?>[argumentsCount];
+                Arrays.fill(parameterTypes, String.class);
+                try {
+                    Constructor<?> stringsConstructor = clazz.getDeclaredConstructor(parameterTypes);
+                    return Optional.of(arguments -> constructNewInstance(stringsConstructor, (Object[]) arguments));
+                } catch (NoSuchMethodException e) {
+                    return Optional.of(arguments -> {
+                        throw new GraphQLAnnotationsException("Unable to instantiate via constructor with string arguments : " + clazz, e);
+                    });
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * What is resolved once about how to instantiate a class
+     */
+    private static final class ClassMetadata {
+        private final Class<?> clazz;
+        private final ConcurrentMap<Class<?>, Optional<Constructor<?>>> adapterConstructors = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, Optional<Function<String[], ?>>> argumentsFactories = new ConcurrentHashMap<>();
+        private volatile Supplier<?> instanceSupplier;
+
+        private ClassMetadata(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        private Supplier<?> getInstanceSupplier() {
+            Supplier<?> supplier = instanceSupplier;
+            if (supplier == null) {
+                // resolving twice in a race is harmless, both suppliers create instances the same way
+                supplier = resolveInstanceSupplier(clazz);
+                instanceSupplier = supplier;
+            }
+            return supplier;
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.strategies;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.*;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An execution strategy that caches the results of introspection operations.
+ * An annotations-built schema does not change after it is built, so the result of an operation that selects only
+ * introspection fields ({@code __schema}, {@code __type} and {@code __typename}) depends only on the schema, the query
+ * and the variables (such as the {@code includeDeprecated} arguments). The result of each such operation is computed
+ * once, and is then served directly.
+ * <p>
+ * Other operations are executed as by {@link AsyncExecutionStrategy}, which this strategy extends so that graphql-java
+ * keeps dispatching data loaders level by level. The data of a cached result is shared between requests and must not
+ * be modified.
+ * <p>
+ * When the cache is full, results are evicted in insertion order, except for results that were used since they were
+ * last considered for eviction, which get a second chance.
+ */
+public class IntrospectionCachingExecutionStrategy extends AsyncExecutionStrategy {
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final int maximumSize;
+    private final ConcurrentMap<List<Object>, CachedResult> results = new ConcurrentHashMap<>();
+    private final Queue<List<Object>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    public IntrospectionCachingExecutionStrategy() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public IntrospectionCachingExecutionStrategy(int maximumSize) {
+        this(new SimpleDataFetcherExceptionHandler(), maximumSize);
+    }
+
+    /**
+     * @param exceptionHandler the handler of the exceptions thrown by data fetchers
+     * @param maximumSize      the maximal number of distinct introspection operations whose result is cached
+     */
+    public IntrospectionCachingExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, int maximumSize) {
+        super(exceptionHandler);
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the introspection cache must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        if (!isIntrospectionOperation(executionContext.getOperationDefinition())) {
+            return super.execute(executionContext, parameters);
+        }
+        List<Object> key = Arrays.asList(executionContext.getGraphQLSchema(), executionContext.getExecutionInput().getQuery(),
+                executionContext.getOperationDefinition().getName(), executionContext.getCoercedVariables().toMap());
+        CachedResult cachedResult = results.get(key);
+        if (cachedResult == null) {
+            CachedResult newResult = new CachedResult();
+            cachedResult = results.putIfAbsent(key, newResult);
+            if (cachedResult == null) {
+                evictionQueue.offer(key);
+                evictIfNeeded();
+                return compute(key, newResult, executionContext, parameters);
+            }
+        }
+        cachedResult.used = true;
+        return cachedResult.result.thenApply(IntrospectionCachingExecutionStrategy::copyResult);
+    }
+
+    private CompletableFuture<ExecutionResult> compute(List<Object> key, CachedResult cachedResult,
+                                                       ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        CompletableFuture<ExecutionResult> result;
+        try {
+            result = super.execute(executionContext, parameters);
+        } catch (RuntimeException e) {
+            results.remove(key, cachedResult);
+            cachedResult.result.completeExceptionally(e);
+            throw e;
+        }
+        return result.whenComplete((executionResult, exception) -> {
+            if (exception != null) {
+                results.remove(key, cachedResult);
+                cachedResult.result.completeExceptionally(exception);
+                return;
+            }
+            if (!executionResult.getErrors().isEmpty()) {
+                results.remove(key, cachedResult);
+            }
+            cachedResult.result.complete(copyResult(executionResult));
+        });
+    }
+
+    private void evictIfNeeded() {
+        while (results.size() > maximumSize) {
+            List<Object> key = evictionQueue.poll();
+            if (key == null) {
+                return;
+            }
+            CachedResult cachedResult = results.get(key);
+            if (cachedResult == null) {
+                continue;
+            }
+            if (cachedResult.used) {
+                cachedResult.used = false;
+                evictionQueue.offer(key);
+            } else {
+                results.remove(key, cachedResult);
+            }
+        }
+    }
+
+    private static boolean isIntrospectionOperation(OperationDefinition operationDefinition) {
+        if (operationDefinition.getOperation() != OperationDefinition.Operation.QUERY) {
+            return false;
+        }
+        for (Selection<?> selection : operationDefinition.getSelectionSet().getSelections()) {
+            if (!(selection instanceof Field) || !((Field) selection).getName().startsWith("__")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ExecutionResult copyResult(ExecutionResult executionResult) {
+        return ExecutionResultImpl.newExecutionResult()
+                .data(executionResult.getData())
+                .errors(executionResult.getErrors())
+                .build();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of cached introspection results
+     */
+    public int getSize() {
+        return results.size();
+    }
+
+    private static class CachedResult {
+        private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+        private volatile boolean used;
+    }
+}
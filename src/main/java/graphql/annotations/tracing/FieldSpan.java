@@ -0,0 +1,110 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The span of the fetching of a field: from the call of its data fetcher until its value (or the completion stage it
+ * returned) is complete. The parent of a span is the span of the nearest recorded field above it in the execution path.
+ */
+public class FieldSpan {
+    public static final String JAVA_CLASS = "java.class";
+    public static final String JAVA_METHOD = "java.method";
+    public static final String ARGUMENT_COUNT = "graphql.argument.count";
+    public static final String LIST_SIZE = "graphql.list.size";
+    public static final String BATCH_SIZE = "graphql.batch.size";
+
+    private final String traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final String name;
+    private final String path;
+    private final long startNanos;
+    private final long durationNanos;
+    private final Map<String, Object> attributes;
+    private final Throwable error;
+
+    public FieldSpan(String traceId, long spanId, long parentSpanId, String name, String path, long startNanos, long durationNanos,
+                     Map<String, Object> attributes, Throwable error) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.path = path;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.error = error;
+    }
+
+    /**
+     * @return the id of the request the span belongs to
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return the id of the parent span, or 0 if the span is a root span
+     */
+    public long getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * @return the coordinates of the field, e.g. {@code Query.products}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the execution path of the field, e.g. {@code /products[2]/reviews}
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the start of the span, in {@link System#nanoTime()} units
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the error the field failed with, or null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + path + " (" + durationNanos / 1000 + "us) " + attributes;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the recorded spans in memory, for tests and debugging.
+ */
+public class InMemorySpanRecorder implements SpanRecorder {
+    private final ConcurrentLinkedQueue<FieldSpan> spans = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void record(FieldSpan span) {
+        spans.add(span);
+    }
+
+    /**
+     * @return the recorded spans, in the order they ended
+     */
+    public List<FieldSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @param name the coordinates of a field, e.g. {@code Query.products}
+     * @return the recorded spans of the field
+     */
+    public List<FieldSpan> getSpans(String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).collect(Collectors.toList());
+    }
+
+    public void clear() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+import graphql.GraphQLContext;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionId;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ResultPath;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The trace of a single request, stored in its {@link GraphQLContext}. It keeps the spans of the traced fields by
+ * execution path, so the span of a field can find its parent span whichever thread it runs on.
+ * The trace belongs to the {@link ExecutionId} of the request, so a context that is reused for several requests gets a
+ * new trace (and sampling decision) for each one, and the trace of the previous request is released.
+ */
+public class RequestTrace {
+    private static final String CONTEXT_KEY = RequestTrace.class.getName();
+
+    private final Tracing tracing;
+    private final String traceId;
+    private final ExecutionId executionId;
+    private final AtomicLong spanIds = new AtomicLong();
+    private final Map<ResultPath, Span> spans = new ConcurrentHashMap<>();
+
+    private RequestTrace(Tracing tracing, String traceId, ExecutionId executionId) {
+        this.tracing = tracing;
+        this.traceId = traceId;
+        this.executionId = executionId;
+    }
+
+    /**
+     * @param environment the data fetching environment of a field
+     * @param tracing     the tracing configuration
+     * @return the trace of the request of the field, or null if the request is not traced
+     */
+    public static RequestTrace get(DataFetchingEnvironment environment, Tracing tracing) {
+        GraphQLContext context = environment.getGraphQLContext();
+        if (context == null) {
+            return null;
+        }
+        ExecutionId executionId = environment.getExecutionId();
+        RequestTrace trace = context.get(CONTEXT_KEY);
+        if (trace == null || !Objects.equals(trace.executionId, executionId)) {
+            trace = context.compute(CONTEXT_KEY, (key, current) -> {
+                if (current != null && Objects.equals(current.executionId, executionId)) {
+                    return current;
+                }
+                return newTrace(tracing, executionId);
+            });
+        }
+        return trace.traceId == null ? null : trace;
+    }
+
+    private static RequestTrace newTrace(Tracing tracing, ExecutionId executionId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (tracing.getSampleRate() < 1 && random.nextDouble() >= tracing.getSampleRate()) {
+            return new RequestTrace(null, null, executionId);
+        }
+        return new RequestTrace(tracing, Long.toHexString(random.nextLong()), executionId);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @param environment the data fetching environment of the field
+     * @param attributes  the attributes known before the field is fetched
+     * @return the started span
+     */
+    public Span start(DataFetchingEnvironment environment, Map<String, Object> attributes) {
+        ExecutionStepInfo stepInfo = environment.getExecutionStepInfo();
+        long parentSpanId = 0;
+        Integer batchSize = null;
+        boolean inList = false;
+        boolean batchResolved = false;
+        for (ExecutionStepInfo ancestor = stepInfo.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor.getPath().isListSegment()) {
+                inList = !batchResolved;
+                continue;
+            }
+            Span span = spans.get(ancestor.getPath());
+            if (inList && !batchResolved) {
+                // the field that returned the list the field is fetched in
+                batchSize = span == null ? null : span.listSize;
+                batchResolved = true;
+            }
+            if (span != null && span.recorded) {
+                parentSpanId = span.spanId;
+                break;
+            }
+        }
+        Map<String, Object> spanAttributes = new HashMap<>(attributes);
+        if (batchSize != null) {
+            spanAttributes.put(FieldSpan.BATCH_SIZE, batchSize);
+        }
+        String name = stepInfo.getObjectType().getName() + "." + stepInfo.getFieldDefinition().getName();
+        Span span = new Span(spanIds.incrementAndGet(), parentSpanId, name, stepInfo.getPath(), spanAttributes);
+        spans.put(stepInfo.getPath(), span);
+        return span;
+    }
+
+    /**
+     * @param span  a span started by {@link #start}
+     * @param value the value of the field
+     * @param error the error the field failed with, or null
+     */
+    public void end(Span span, Object value, Throwable error) {
+        long durationNanos = System.nanoTime() - span.startNanos;
+        Integer listSize = getListSize(value instanceof DataFetcherResult ? ((DataFetcherResult<?>) value).getData() : value);
+        if (listSize != null) {
+            span.attributes.put(FieldSpan.LIST_SIZE, listSize);
+            span.listSize = listSize;
+        }
+        if (durationNanos >= tracing.getMinDurationNanos()) {
+            span.recorded = true;
+            tracing.getRecorder().record(new FieldSpan(traceId, span.spanId, span.parentSpanId, span.name, span.path.toString(),
+                    span.startNanos, durationNanos, span.attributes, error));
+        }
+    }
+
+    private static Integer getListSize(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value != null && value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return null;
+    }
+
+    /**
+     * A span that has started, and has not been recorded yet
+     */
+    public static class Span {
+        private final long spanId;
+        private final long parentSpanId;
+        private final String name;
+        private final ResultPath path;
+        private final Map<String, Object> attributes;
+        private final long startNanos = System.nanoTime();
+        private volatile Integer listSize;
+        private volatile boolean recorded;
+
+        Span(long spanId, long parentSpanId, String name, ResultPath path, Map<String, Object> attributes) {
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.path = path;
+            this.attributes = attributes;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+/**
+ * Receives the spans of the traced fields once they have ended, e.g. to export them to a distributed tracing system.
+ * Spans of the same request may be recorded concurrently, from the threads that completed their fields.
+ */
+public interface SpanRecorder {
+    void record(FieldSpan span);
+}
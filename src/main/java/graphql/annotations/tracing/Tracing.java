@@ -0,0 +1,71 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the tracing of the fields: where the spans are recorded, the ratio of the requests that are
+ * traced, and the minimal duration of the spans that are recorded (shorter spans are dropped, and their children are
+ * attached to the nearest recorded span above them).
+ * <p>
+ * Instances are immutable - changing a setting returns a new configuration.
+ */
+public class Tracing {
+    private final SpanRecorder recorder;
+    private final double sampleRate;
+    private final long minDurationNanos;
+
+    /**
+     * Trace every request, and record all the spans
+     *
+     * @param recorder the recorder of the spans
+     */
+    public Tracing(SpanRecorder recorder) {
+        this(recorder, 1, 0);
+    }
+
+    private Tracing(SpanRecorder recorder, double sampleRate, long minDurationNanos) {
+        this.recorder = recorder;
+        this.sampleRate = sampleRate;
+        this.minDurationNanos = minDurationNanos;
+    }
+
+    /**
+     * @param sampleRate the ratio of the requests that are traced, from 0 to 1
+     * @return a new configuration with the sample rate
+     */
+    public Tracing withSampleRate(double sampleRate) {
+        return new Tracing(recorder, sampleRate, minDurationNanos);
+    }
+
+    /**
+     * @param minDuration the minimal duration of the spans that are recorded
+     * @return a new configuration with the minimal duration
+     */
+    public Tracing withMinDuration(Duration minDuration) {
+        return new Tracing(recorder, sampleRate, minDuration.toNanos());
+    }
+
+    public SpanRecorder getRecorder() {
+        return recorder;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getMinDurationNanos() {
+        return minDurationNanos;
+    }
+}
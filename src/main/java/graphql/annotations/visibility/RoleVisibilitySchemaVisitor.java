@@ -0,0 +1,227 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.visibility;
+
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.*;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+import graphql.util.TreeTransformerUtil;
+
+import java.util.*;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static graphql.schema.GraphQLTypeReference.typeRef;
+import static graphql.schema.GraphQLTypeUtil.unwrapAll;
+
+/**
+ * Removes the fields that are not visible to a role from a schema.
+ * Used with a {@link graphql.schema.SchemaTransformer}, which rebuilds only the types that contain removed fields
+ * (and the types that reference them), so the pruned schema shares all the other types with the original schema.
+ * <p>
+ * Object and interface types whose fields are all removed are removed as well, together with the fields that return
+ * them, so the removal cascades until every remaining type has a visible field.
+ * Use {@link #retainReachableTypes(GraphQLSchema)} before the transformation to also remove the additional types
+ * that are only reachable through removed fields.
+ */
+public class RoleVisibilitySchemaVisitor extends GraphQLTypeVisitorStub {
+    private final Set<FieldCoordinates> hiddenFields = new HashSet<>();
+    private final Set<String> emptyTypes = new HashSet<>();
+
+    /**
+     * @param schema          the schema to prune
+     * @param fieldVisibility the roles each restricted field is visible to, by the coordinates of the field
+     * @param role            the role to build the schema for
+     * @throws GraphQLAnnotationsException if no field of the query type is visible to the role
+     */
+    public RoleVisibilitySchemaVisitor(GraphQLSchema schema, Map<FieldCoordinates, Set<String>> fieldVisibility, String role) {
+        fieldVisibility.forEach((field, roles) -> {
+            if (!roles.contains(role)) {
+                hiddenFields.add(field);
+            }
+        });
+        findEmptyTypes(schema);
+        if (emptyTypes.contains(schema.getQueryType().getName())) {
+            throw new GraphQLAnnotationsException("No field of the query type " + schema.getQueryType().getName()
+                    + " is visible to the role " + role, null);
+        }
+    }
+
+    private void findEmptyTypes(GraphQLSchema schema) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+                if (emptyTypes.contains(type.getName()) || type.getName().startsWith("__")) {
+                    continue;
+                }
+                if (type instanceof GraphQLFieldsContainer && isEmpty((GraphQLFieldsContainer) type)
+                        || type instanceof GraphQLUnionType && emptyTypes.containsAll(names(((GraphQLUnionType) type).getTypes()))) {
+                    emptyTypes.add(type.getName());
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private boolean isEmpty(GraphQLFieldsContainer type) {
+        boolean empty = true;
+        for (GraphQLFieldDefinition field : type.getFieldDefinitions()) {
+            FieldCoordinates fieldCoordinates = coordinates(type.getName(), field.getName());
+            if (emptyTypes.contains(unwrapAll(field.getType()).getName())) {
+                hiddenFields.add(fieldCoordinates);
+            }
+            empty &= hiddenFields.contains(fieldCoordinates);
+        }
+        return empty;
+    }
+
+    /**
+     * Removes the root operation types that have no visible field, and the additional types that are reachable from
+     * the root types of the schema, but not through the fields that are visible to the role.
+     * Additional types that are not reachable from the root types to begin with are kept.
+     *
+     * @param schema the schema this visitor was created for
+     * @return the schema to transform with this visitor, which is the given schema if no type has to be removed
+     */
+    public GraphQLSchema retainReachableTypes(GraphQLSchema schema) {
+        Set<String> originallyReachable = reachableTypes(schema, Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+        Set<GraphQLNamedType> seeds = new LinkedHashSet<>();
+        for (GraphQLType type : schema.getAdditionalTypes()) {
+            if (!originallyReachable.contains(((GraphQLNamedType) type).getName())) {
+                seeds.add((GraphQLNamedType) type);
+            }
+        }
+        Set<String> reachable = reachableTypes(schema, hiddenFields, emptyTypes, seeds);
+        Set<GraphQLType> additionalTypes = new LinkedHashSet<>();
+        for (GraphQLType type : schema.getAdditionalTypes()) {
+            if (reachable.contains(((GraphQLNamedType) type).getName())) {
+                additionalTypes.add(type);
+            }
+        }
+        boolean emptyMutation = schema.getMutationType() != null && emptyTypes.contains(schema.getMutationType().getName());
+        boolean emptySubscription = schema.getSubscriptionType() != null && emptyTypes.contains(schema.getSubscriptionType().getName());
+        if (additionalTypes.size() == schema.getAdditionalTypes().size() && !emptyMutation && !emptySubscription) {
+            return schema;
+        }
+        return GraphQLSchema.newSchema(schema)
+                .mutation(emptyMutation ? null : schema.getMutationType())
+                .subscription(emptySubscription ? null : schema.getSubscriptionType())
+                .clearAdditionalTypes()
+                .additionalTypes(additionalTypes)
+                .build();
+    }
+
+    private static Set<String> reachableTypes(GraphQLSchema schema, Set<FieldCoordinates> hiddenFields, Set<String> emptyTypes,
+                                              Collection<? extends GraphQLNamedType> seeds) {
+        Deque<GraphQLNamedType> pending = new ArrayDeque<>(seeds);
+        pending.add(schema.getQueryType());
+        if (schema.getMutationType() != null) {
+            pending.add(schema.getMutationType());
+        }
+        if (schema.getSubscriptionType() != null) {
+            pending.add(schema.getSubscriptionType());
+        }
+        for (GraphQLDirective directive : schema.getDirectives()) {
+            for (GraphQLArgument argument : directive.getArguments()) {
+                pending.add(unwrapAll(argument.getType()));
+            }
+        }
+        Set<String> reachable = new HashSet<>();
+        while (!pending.isEmpty()) {
+            GraphQLNamedType type = pending.poll();
+            if (emptyTypes.contains(type.getName()) || !reachable.add(type.getName())) {
+                continue;
+            }
+            if (type instanceof GraphQLFieldsContainer) {
+                for (GraphQLFieldDefinition field : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    if (hiddenFields.contains(coordinates(type.getName(), field.getName()))) {
+                        continue;
+                    }
+                    pending.add(unwrapAll(field.getType()));
+                    for (GraphQLArgument argument : field.getArguments()) {
+                        pending.add(unwrapAll(argument.getType()));
+                    }
+                }
+                pending.addAll(((GraphQLImplementingType) type).getInterfaces());
+            }
+            if (type instanceof GraphQLInterfaceType) {
+                pending.addAll(schema.getImplementations((GraphQLInterfaceType) type));
+            }
+            if (type instanceof GraphQLUnionType) {
+                pending.addAll(((GraphQLUnionType) type).getTypes());
+            }
+            if (type instanceof GraphQLInputObjectType) {
+                for (GraphQLInputObjectField field : ((GraphQLInputObjectType) type).getFieldDefinitions()) {
+                    pending.add(unwrapAll(field.getType()));
+                }
+            }
+        }
+        return reachable;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition node, TraverserContext<GraphQLSchemaElement> context) {
+        GraphQLSchemaElement parent = context.getParentNode();
+        if (parent instanceof GraphQLFieldsContainer
+                && hiddenFields.contains(coordinates(((GraphQLFieldsContainer) parent).getName(), node.getName()))) {
+            return TreeTransformerUtil.deleteNode(context);
+        }
+        return TraversalControl.CONTINUE;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLObjectType(GraphQLObjectType node, TraverserContext<GraphQLSchemaElement> context) {
+        if (emptyTypes.contains(node.getName()) || Collections.disjoint(emptyTypes, names(node.getInterfaces()))) {
+            return TraversalControl.CONTINUE;
+        }
+        return TreeTransformerUtil.changeNode(context, node.transform(builder ->
+                builder.replaceInterfaces(visibleTypeReferences(node.getInterfaces()))));
+    }
+
+    @Override
+    public TraversalControl visitGraphQLInterfaceType(GraphQLInterfaceType node, TraverserContext<GraphQLSchemaElement> context) {
+        if (emptyTypes.contains(node.getName()) || Collections.disjoint(emptyTypes, names(node.getInterfaces()))) {
+            return TraversalControl.CONTINUE;
+        }
+        return TreeTransformerUtil.changeNode(context, node.transform(builder ->
+                builder.replaceInterfaces(visibleTypeReferences(node.getInterfaces()))));
+    }
+
+    @Override
+    public TraversalControl visitGraphQLUnionType(GraphQLUnionType node, TraverserContext<GraphQLSchemaElement> context) {
+        if (emptyTypes.contains(node.getName()) || Collections.disjoint(emptyTypes, names(node.getTypes()))) {
+            return TraversalControl.CONTINUE;
+        }
+        return TreeTransformerUtil.changeNode(context, node.transform(builder -> {
+            builder.clearPossibleTypes();
+            visibleTypeReferences(node.getTypes()).forEach(builder::possibleType);
+        }));
+    }
+
+    private List<GraphQLTypeReference> visibleTypeReferences(List<? extends GraphQLNamedType> types) {
+        List<GraphQLTypeReference> references = new ArrayList<>();
+        for (GraphQLNamedType type : types) {
+            if (!emptyTypes.contains(type.getName())) {
+                references.add(typeRef(type.getName()));
+            }
+        }
+        return references;
+    }
+
+    private static Set<String> names(List<? extends GraphQLNamedType> types) {
+        Set<String> names = new HashSet<>();
+        types.forEach(type -> names.add(type.getName()));
+        return names;
+    }
+}
@@ -0,0 +1,310 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLContext;
+import graphql.TypeResolutionEnvironment;
+import graphql.annotations.annotationTypes.*;
+import graphql.annotations.connection.AbstractPaginatedData;
+import graphql.annotations.connection.PaginatedData;
+import graphql.annotations.connection.PaginatedDataConnectionFetcher;
+import graphql.annotations.dataFetchers.ExtensionDataFetcherWrapper;
+import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.dataFetchers.connection.StreamConnection;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.typeResolvers.UnionTypeResolver;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.TypeResolver;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.*;
+
+/**
+ * Checks the bytes allocated per operation by the hot paths against the budgets in {@code allocation-budgets.properties}.
+ * Each operation is warmed up first, so the measurement reflects the compiled code rather than class loading and
+ * lazily built caches.
+ */
+public class AllocationBudgetTest {
+    private static final String BUDGETS = "/allocation-budgets.properties";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private static volatile Object sink;
+    private static volatile TypeResolutionEnvironment capturedEnvironment;
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private Properties budgets;
+
+    @GraphQLName("AllocationItem")
+    public static class Item {
+        private final int id;
+
+        public Item(int id) {
+            this.id = id;
+        }
+
+        @GraphQLField
+        public int id() {
+            return id;
+        }
+
+        @GraphQLField
+        public String name() {
+            return "item";
+        }
+
+        @GraphQLField
+        public String label(@GraphQLName("prefix") String prefix, @GraphQLName("upper") boolean upper) {
+            return upper ? prefix.toUpperCase() : prefix;
+        }
+    }
+
+    @GraphQLTypeExtension(Item.class)
+    public static class ItemExtension {
+        private final Item item;
+
+        public ItemExtension(Item item) {
+            this.item = item;
+        }
+
+        @GraphQLField
+        public String extra() {
+            return item.name();
+        }
+    }
+
+    @GraphQLUnion(possibleTypes = {Book.class, Magazine.class})
+    public interface Media {
+    }
+
+    @GraphQLUnion(typeResolver = CapturingTypeResolver.class, possibleTypes = {Book.class, Magazine.class})
+    public interface CapturedMedia {
+    }
+
+    @GraphQLName("AllocationBook")
+    public static class Book implements Media, CapturedMedia {
+        @GraphQLField
+        public String title() {
+            return "book";
+        }
+    }
+
+    @GraphQLName("AllocationMagazine")
+    public static class Magazine implements Media, CapturedMedia {
+        @GraphQLField
+        public int issue() {
+            return 1;
+        }
+    }
+
+    public static class CapturingTypeResolver implements TypeResolver {
+        @Override
+        public GraphQLObjectType getType(TypeResolutionEnvironment env) {
+            capturedEnvironment = env;
+            return env.getSchema().getObjectType(env.getObject() instanceof Book ? "AllocationBook" : "AllocationMagazine");
+        }
+    }
+
+    public static class ItemsPage extends AbstractPaginatedData<Item> {
+        public ItemsPage(List<Item> items) {
+            super(false, true, items);
+        }
+
+        @Override
+        public String getCursor(Item entity) {
+            return Integer.toString(entity.id());
+        }
+    }
+
+    @GraphQLName("AllocationQuery")
+    public static class Query {
+        private static final List<Item> ITEMS = Collections.unmodifiableList(createItems(20));
+
+        @GraphQLField
+        public List<Item> items() {
+            return ITEMS;
+        }
+
+        @GraphQLField
+        public List<Media> media() {
+            return List.of(new Book(), new Magazine(), new Book());
+        }
+
+        @GraphQLField
+        public CapturedMedia capturedMedia() {
+            return new Magazine();
+        }
+    }
+
+    private static List<Item> createItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(i));
+        }
+        return items;
+    }
+
+    @BeforeClass
+    public void init() throws IOException {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("The JVM does not measure the allocations of threads");
+        }
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("The JVM does not measure the allocations of threads");
+        }
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        budgets = new Properties();
+        try (InputStream stream = AllocationBudgetTest.class.getResourceAsStream(BUDGETS)) {
+            assertNotNull(stream, "Missing " + BUDGETS);
+            budgets.load(stream);
+        }
+    }
+
+    private interface Operation {
+        Object run() throws Exception;
+    }
+
+    private long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long measure(Operation operation, int iterations) throws Exception {
+        long before = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.run();
+        }
+        return allocatedBytes() - before;
+    }
+
+    private void assertWithinBudget(String name, Operation operation) throws Exception {
+        assertWithinBudget(name, operation, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+    }
+
+    private void assertWithinBudget(String name, Operation operation, int warmupIterations, int measuredIterations) throws Exception {
+        String budget = budgets.getProperty(name);
+        assertNotNull(budget, "No allocation budget for " + name + " in " + BUDGETS);
+        measure(operation, warmupIterations);
+        // the cost of the measurement itself, taken the same way as the measurement of the operation
+        long overhead = measure(() -> null, measuredIterations);
+        long bytesPerOperation = Math.max(0, measure(operation, measuredIterations) - overhead) / measuredIterations;
+        assertTrue(bytesPerOperation <= Long.parseLong(budget.trim()),
+                name + " allocated " + bytesPerOperation + " bytes per operation, over its budget of " + budget.trim() + " bytes");
+    }
+
+    private static DataFetchingEnvironment environment(Object source, Map<String, Object> arguments) {
+        return newDataFetchingEnvironment().source(source).arguments(arguments).graphQLContext(GraphQLContext.newContext().build()).build();
+    }
+
+    @Test
+    public void methodDataFetcher_noArguments() throws Exception {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        ProcessingElementsContainer container = graphQLAnnotations.getContainer();
+        MethodDataFetcher<?> dataFetcher = new MethodDataFetcher<>(Item.class.getMethod("name"), container.getDefaultTypeFunction(), container);
+        DataFetchingEnvironment environment = environment(new Item(1), Collections.emptyMap());
+        assertEquals(dataFetcher.get(environment), "item");
+
+        assertWithinBudget("methodDataFetcher.noArguments", () -> dataFetcher.get(environment));
+    }
+
+    @Test
+    public void methodDataFetcher_arguments() throws Exception {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        ProcessingElementsContainer container = graphQLAnnotations.getContainer();
+        MethodDataFetcher<?> dataFetcher = new MethodDataFetcher<>(Item.class.getMethod("label", String.class, boolean.class),
+                container.getDefaultTypeFunction(), container);
+        DataFetchingEnvironment environment = environment(new Item(1), Map.of("prefix", "label", "upper", false));
+        assertEquals(dataFetcher.get(environment), "label");
+
+        assertWithinBudget("methodDataFetcher.arguments", () -> dataFetcher.get(environment));
+    }
+
+    @Test
+    public void extensionDataFetcherWrapper() throws Exception {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        ProcessingElementsContainer container = graphQLAnnotations.getContainer();
+        DataFetcher<?> dataFetcher = new ExtensionDataFetcherWrapper<>(ItemExtension.class,
+                new MethodDataFetcher<>(ItemExtension.class.getMethod("extra"), container.getDefaultTypeFunction(), container));
+        DataFetchingEnvironment environment = environment(new Item(1), Collections.emptyMap());
+        assertEquals(dataFetcher.get(environment), "item");
+
+        assertWithinBudget("extensionDataFetcherWrapper", () -> dataFetcher.get(environment));
+    }
+
+    @Test
+    public void paginatedDataConnectionFetcher() throws Exception {
+        PaginatedData<Item> page = new ItemsPage(createItems(10));
+        PaginatedDataConnectionFetcher<Item> dataFetcher = new PaginatedDataConnectionFetcher<>(environment -> page);
+        DataFetchingEnvironment environment = environment(null, Collections.emptyMap());
+        assertEquals(dataFetcher.get(environment).getEdges().size(), 10);
+
+        assertWithinBudget("paginatedDataConnectionFetcher", () -> dataFetcher.get(environment));
+    }
+
+    @Test
+    public void streamConnection() throws Exception {
+        List<Item> items = createItems(10);
+        DataFetchingEnvironment environment = environment(null, Map.of("first", 5));
+        assertNotNull(new StreamConnection(items.stream()).get(environment));
+
+        // a stream is consumed by the connection, so creating the connection is part of the operation
+        assertWithinBudget("streamConnection", () -> new StreamConnection(items.stream()).get(environment));
+    }
+
+    @Test
+    public void unionTypeResolver() throws Exception {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{capturedMedia {... on AllocationMagazine {issue}}}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        TypeResolutionEnvironment environment = capturedEnvironment;
+        assertNotNull(environment);
+
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        UnionTypeResolver typeResolver = new UnionTypeResolver(new Class<?>[]{Book.class, Magazine.class}, graphQLAnnotations.getContainer());
+        assertEquals(typeResolver.getType(environment).getName(), "AllocationMagazine");
+
+        assertWithinBudget("unionTypeResolver", () -> typeResolver.getType(environment));
+    }
+
+    @Test
+    public void query() throws Exception {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).typeExtension(ItemExtension.class).buildGraphQL();
+        String query = "{items {id name extra label(prefix: \"x\", upper: true)} " +
+                "media {... on AllocationBook {title} ... on AllocationMagazine {issue}}}";
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, List<?>>>getData().get("items").size(), 20);
+
+        assertWithinBudget("query", () -> graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query())), 2_000, 500);
+    }
+}
@@ -14,15 +14,22 @@
  */
 package graphql.annotations;
 
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.TrivialDataFetcher;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLField;
 import graphql.annotations.annotationTypes.GraphQLName;
 import graphql.annotations.annotationTypes.directives.definition.DirectiveLocations;
 import graphql.annotations.annotationTypes.directives.definition.GraphQLDirectiveDefinition;
+import graphql.annotations.dataFetchers.SwappableDataFetchers;
 import graphql.annotations.directives.AnnotationsDirectiveWiring;
 import graphql.annotations.directives.AnnotationsWiringEnvironment;
+import graphql.annotations.execution.CachingPreparsedDocumentProvider;
 import graphql.annotations.processor.GraphQLAnnotations;
 import graphql.introspection.Introspection;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLObjectType;
@@ -34,13 +41,16 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.testng.Assert.expectThrows;
 
 public class AnnotationsSchemaCreatorTest {
     private AnnotationsSchemaCreator.Builder builder;
@@ -236,4 +246,81 @@ public class AnnotationsSchemaCreatorTest {
         assertThat(schema.getType("additional"), notNullValue());
         assertThat(schema.getType("additional").toString(), is(additionalType.toString()));
     }
+
+    @Test
+    public void buildGraphQL_sameQueryExecutedTwice_documentIsParsedOnceAndCacheIsInvalidatedOnRebuild() {
+        // arrange
+        GraphQL graphQL = builder.query(QueryTest.class).setDocumentCacheSize(10).buildGraphQL();
+        CachingPreparsedDocumentProvider documentCache = builder.getDocumentCache();
+
+        // act
+        ExecutionResult first = graphQL.execute(GraphQLHelper.createExecutionInput("{getNum}", new QueryTest()));
+        ExecutionResult second = graphQL.execute(GraphQLHelper.createExecutionInput("{getNum}", new QueryTest()));
+
+        // assert
+        assertThat(first.getErrors().size(), is(0));
+        assertThat(second.<Map<String, Object>>getData().get("getNum"), is(5));
+        assertThat(documentCache.getMissCount(), is(1L));
+        assertThat(documentCache.getHitCount(), is(1L));
+        assertThat(documentCache.getSize(), is(1));
+
+        builder.build();
+        assertThat(documentCache.getSize(), is(0));
+    }
+
+    @Test
+    public void build_swappableDataFetchers_dataFetcherIsReplacedWithoutRebuild() {
+        // arrange
+        GraphQLSchema schema = builder.query(QueryTest.class).setSwappableDataFetchers(true).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        SwappableDataFetchers swappableDataFetchers = builder.getSwappableDataFetchers();
+        FieldCoordinates getNum = FieldCoordinates.coordinates("QueryTest", "getNum");
+
+        // act
+        Object before = graphQL.execute(GraphQLHelper.createExecutionInput("{getNum}", new QueryTest())).<Map<String, Object>>getData().get("getNum");
+        swappableDataFetchers.replace(getNum, environment -> 7);
+        Object after = graphQL.execute(GraphQLHelper.createExecutionInput("{getNum}", new QueryTest())).<Map<String, Object>>getData().get("getNum");
+
+        // assert
+        assertThat(before, is(5));
+        assertThat(after, is(7));
+    }
+
+    @Test
+    public void build_swappableDataFetchers_unknownCoordinates_nothingIsReplaced() {
+        // arrange
+        builder.query(QueryTest.class).setSwappableDataFetchers(true).build();
+        SwappableDataFetchers swappableDataFetchers = builder.getSwappableDataFetchers();
+        FieldCoordinates getNum = FieldCoordinates.coordinates("QueryTest", "getNum");
+        DataFetcher<?> original = swappableDataFetchers.getDataFetcher(getNum);
+        Map<FieldCoordinates, DataFetcher<?>> replacements = new HashMap<>();
+        replacements.put(getNum, environment -> 7);
+        replacements.put(FieldCoordinates.coordinates("QueryTest", "unknown"), environment -> 8);
+
+        // act
+        expectThrows(IllegalArgumentException.class, () -> swappableDataFetchers.replaceAll(replacements));
+
+        // assert
+        assertThat(swappableDataFetchers.getDataFetcher(getNum) == original, is(true));
+    }
+
+    public static class PropertyQueryTest {
+        @GraphQLField
+        public String name = "name";
+    }
+
+    @Test
+    public void build_swappableDataFetchers_trivialDataFetcherStaysTrivial() {
+        // arrange
+        GraphQLSchema schema = builder.query(PropertyQueryTest.class).setSwappableDataFetchers(true).build();
+        SwappableDataFetchers swappableDataFetchers = builder.getSwappableDataFetchers();
+        FieldCoordinates name = FieldCoordinates.coordinates("PropertyQueryTest", "name");
+
+        // act
+        DataFetcher<?> registered = schema.getCodeRegistry().getDataFetcher(name, schema.getQueryType().getFieldDefinition("name"));
+
+        // assert
+        assertThat(registered instanceof TrivialDataFetcher, is(true));
+        expectThrows(IllegalArgumentException.class, () -> swappableDataFetchers.replace(name, environment -> "other"));
+    }
 }
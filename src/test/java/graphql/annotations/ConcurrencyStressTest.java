@@ -0,0 +1,329 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.*;
+import graphql.annotations.connection.AbstractPaginatedData;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.PaginatedData;
+import org.testng.Reporter;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+/**
+ * Runs a mix of queries, mutations, connections and introspection from many threads against a single GraphQL instance,
+ * built with all its caches and instrumentations enabled, and checks that every result is the one the same operation
+ * returns when it runs alone. The throughput with an increasing number of threads is reported, so that a bottleneck in
+ * the data fetchers or the caches shows up as a throughput that does not scale.
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrencyStressTest {
+    private static final int OPERATIONS_PER_THREAD = 500;
+    private static final int VIRTUAL_THREAD_OPERATIONS = 10_000;
+
+    private static final String ITEMS_QUERY = "{items(count: 10) {id name extra score label(prefix: \"p\", upper: true)}}";
+    private static final String MEDIA_QUERY = "{media {... on StressBook {title} ... on StressMagazine {issue}}}";
+    private static final String CONNECTIONS_QUERY = "{itemsConnection(first: 5) {edges {cursor node {id extra}} pageInfo {hasNextPage}} " +
+            "asyncItemsConnection(first: 5) {edges {node {id score}} pageInfo {hasPreviousPage}}}";
+    private static final String INTROSPECTION_QUERY = "{__schema {types {name fields {name}}}}";
+    private static final String[] QUERIES = {ITEMS_QUERY, MEDIA_QUERY, CONNECTIONS_QUERY, INTROSPECTION_QUERY};
+
+    @GraphQLName("StressItem")
+    public static class Item {
+        private final int id;
+
+        public Item(int id) {
+            this.id = id;
+        }
+
+        @GraphQLField
+        public int id() {
+            return id;
+        }
+
+        @GraphQLField
+        public String name() {
+            return "item" + id;
+        }
+
+        @GraphQLField
+        @GraphQLMemoize
+        public int score() {
+            return id * 2;
+        }
+
+        @GraphQLField
+        public String label(@GraphQLName("prefix") String prefix, @GraphQLName("upper") boolean upper) {
+            String label = prefix + id;
+            return upper ? label.toUpperCase() : label;
+        }
+    }
+
+    @GraphQLTypeExtension(Item.class)
+    public static class ItemExtension {
+        private final Item item;
+
+        public ItemExtension(Item item) {
+            this.item = item;
+        }
+
+        @GraphQLField
+        public String extra() {
+            return "extra" + item.id();
+        }
+    }
+
+    @GraphQLUnion(possibleTypes = {Book.class, Magazine.class})
+    public interface Media {
+    }
+
+    @GraphQLName("StressBook")
+    public static class Book implements Media {
+        @GraphQLField
+        public String title() {
+            return "book";
+        }
+    }
+
+    @GraphQLName("StressMagazine")
+    public static class Magazine implements Media {
+        @GraphQLField
+        public int issue() {
+            return 7;
+        }
+    }
+
+    private static PaginatedData<Item> page(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(i));
+        }
+        return new AbstractPaginatedData<Item>(false, true, items) {
+            @Override
+            public String getCursor(Item entity) {
+                return Integer.toString(entity.id());
+            }
+        };
+    }
+
+    @GraphQLName("StressQuery")
+    public static class Query {
+        @GraphQLField
+        public List<Item> items(@GraphQLName("count") int count) {
+            List<Item> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new Item(i));
+            }
+            return items;
+        }
+
+        @GraphQLField
+        public List<Media> media() {
+            return List.of(new Book(), new Magazine(), new Book(), new Magazine());
+        }
+
+        @GraphQLField
+        @GraphQLConnection
+        public PaginatedData<Item> itemsConnection() {
+            return page(5);
+        }
+
+        @GraphQLField
+        @GraphQLConnection(async = true)
+        public PaginatedData<Item> asyncItemsConnection() {
+            return page(5);
+        }
+    }
+
+    @GraphQLName("StressReceipt")
+    public static class Receipt {
+        @GraphQLField
+        public final int by;
+        @GraphQLField
+        public final int total;
+
+        public Receipt(int by, int total) {
+            this.by = by;
+            this.total = total;
+        }
+    }
+
+    @GraphQLName("StressMutation")
+    public static class Mutation {
+        private final AtomicLong counter;
+
+        public Mutation(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @GraphQLField
+        public Receipt increment(@GraphQLName("by") int by) {
+            return new Receipt(by, (int) counter.addAndGet(by));
+        }
+    }
+
+    private GraphQL graphQL;
+    private Map<String, Object> expected;
+    private AtomicLong counter;
+    private AtomicLong expectedCounter;
+    private Queue<String> failures;
+
+    @BeforeClass
+    public void init() {
+        graphQL = newAnnotationsSchema().query(Query.class).mutation(Mutation.class).typeExtension(ItemExtension.class)
+                .setMaximumQueryCost(100_000)
+                .setIntrospectionCache(true)
+                .setCacheControl(true)
+                .setNPlusOneDetection(true)
+                .buildGraphQL();
+        expected = new ConcurrentHashMap<>();
+        for (String query : QUERIES) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query()));
+            assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+            expected.put(query, result.getData());
+        }
+    }
+
+    @BeforeMethod
+    public void reset() {
+        counter = new AtomicLong();
+        expectedCounter = new AtomicLong();
+        failures = new ConcurrentLinkedQueue<>();
+    }
+
+    private void runOperation(int index) {
+        try {
+            if (index % (QUERIES.length + 1) == QUERIES.length) {
+                int by = index % 5 + 1;
+                expectedCounter.addAndGet(by);
+                ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                        .query("mutation {increment(by: " + by + ") {by total}}").root(new Mutation(counter)));
+                Map<String, Object> receipt = (Map<String, Object>) result.<Map<String, Object>>getData().get("increment");
+                if (!result.getErrors().isEmpty() || !receipt.get("by").equals(by) || (int) receipt.get("total") < by) {
+                    failures.add("mutation: " + result.getErrors() + " " + receipt);
+                }
+                return;
+            }
+            String query = QUERIES[index % (QUERIES.length + 1)];
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query()));
+            if (!result.getErrors().isEmpty() || !expected.get(query).equals(result.getData())) {
+                failures.add(query + ": " + result.getErrors() + " " + result.getData());
+            }
+        } catch (Throwable e) {
+            failures.add(e.toString());
+        }
+    }
+
+    private void runAll(ExecutorService executor, int threads, int operationsPerThread) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    runOperation(offset + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+    }
+
+    private void assertNoFailures() {
+        assertTrue(failures.isEmpty(), failures.size() + " failed operations, first: " + failures.peek());
+        assertEquals(counter.get(), expectedCounter.get());
+    }
+
+    @Test
+    public void platformThreads_resultsAreCorrect_throughputReported() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(Math.max(cores, 2));
+
+        // warm up, so that the first measurement does not include the compilation of the hot paths
+        ExecutorService warmupExecutor = Executors.newFixedThreadPool(2);
+        try {
+            runAll(warmupExecutor, 2, OPERATIONS_PER_THREAD);
+        } finally {
+            warmupExecutor.shutdownNow();
+        }
+        assertNoFailures();
+
+        double singleThreadThroughput = 0;
+        for (int threads : threadCounts) {
+            reset();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                long startNanos = System.nanoTime();
+                runAll(executor, threads, OPERATIONS_PER_THREAD);
+                double seconds = (System.nanoTime() - startNanos) / 1e9;
+                double throughput = threads * OPERATIONS_PER_THREAD / seconds;
+                if (singleThreadThroughput == 0) {
+                    singleThreadThroughput = throughput;
+                }
+                Reporter.log(String.format("%d threads: %.0f operations/s (%.2fx of 1 thread)", threads, throughput, throughput / singleThreadThroughput));
+            } finally {
+                executor.shutdownNow();
+            }
+            assertNoFailures();
+        }
+    }
+
+    @Test
+    public void virtualThreads_resultsAreCorrect() throws Exception {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        try {
+            runAll(executor, VIRTUAL_THREAD_OPERATIONS, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNoFailures();
+    }
+
+    /**
+     * Virtual threads are looked up reflectively, as the library is built for JVMs that do not have them
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new SkipException("Virtual threads are not available in this JVM");
+        } catch (InvocationTargetException e) {
+            // e.g. virtual threads are a preview feature that is not enabled
+            throw new SkipException("Virtual threads are not available in this JVM: " + e.getCause());
+        }
+    }
+}
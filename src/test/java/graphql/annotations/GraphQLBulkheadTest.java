@@ -0,0 +1,132 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLBulkhead;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.execution.Bulkhead;
+import graphql.annotations.execution.BulkheadFullException;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class GraphQLBulkheadTest {
+    private static final List<CompletableFuture<Object>> pending = new CopyOnWriteArrayList<>();
+
+    public static class PendingDataFetcher implements DataFetcher<CompletableFuture<Object>> {
+        @Override
+        public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+    }
+
+    @GraphQLName("BulkheadQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLBulkhead(name = "backend", maxConcurrent = 1)
+        @GraphQLDataFetcher(PendingDataFetcher.class)
+        public String slow() {
+            return null;
+        }
+
+        @GraphQLField
+        @GraphQLBulkhead(name = "backend", maxConcurrent = 1)
+        public String other() {
+            return "other";
+        }
+
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+    }
+
+    @GraphQLName("ConflictingBulkheadQuery")
+    public static class ConflictingQuery {
+        @GraphQLField
+        @GraphQLBulkhead(name = "backend", maxConcurrent = 1)
+        public String first() {
+            return "first";
+        }
+
+        @GraphQLField
+        @GraphQLBulkhead(name = "backend", maxConcurrent = 2)
+        public String second() {
+            return "second";
+        }
+    }
+
+    @BeforeMethod
+    public void init() {
+        pending.clear();
+    }
+
+    @Test
+    public void saturatedBulkhead_failsFastWithPartialResult() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQL graphQL = GraphQL.newGraphQL(builder.build()).build();
+        Bulkhead bulkhead = builder.getBulkheads().getBulkhead("backend");
+
+        CompletableFuture<ExecutionResult> future = graphQL.executeAsync(GraphQLHelper.createExecutionInput("{slow other name}", new Query()));
+        assertEquals(bulkhead.getActiveCount(), 1);
+        assertEquals(bulkhead.getSaturation(), 1.0);
+        assertEquals(bulkhead.getRejectedCount(), 1);
+
+        pending.get(0).complete("slow");
+        ExecutionResult result = future.join();
+
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("slow"), "slow");
+        assertNull(data.get("other"));
+        assertEquals(data.get("name"), "name");
+        assertEquals(result.getErrors().size(), 1);
+        assertTrue(((ExceptionWhileDataFetching) result.getErrors().get(0)).getException() instanceof BulkheadFullException);
+        assertEquals(bulkhead.getActiveCount(), 0);
+        assertEquals(bulkhead.getAcceptedCount(), 1);
+    }
+
+    @Test
+    public void releasedBulkhead_acceptsCallsAgain() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQL graphQL = GraphQL.newGraphQL(builder.build()).build();
+
+        for (int i = 0; i < 3; i++) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{other}", new Query()));
+            assertTrue(result.getErrors().isEmpty());
+        }
+        assertEquals(builder.getBulkheads().getBulkhead("backend").getAcceptedCount(), 3);
+        assertEquals(builder.getBulkheads().getBulkhead("backend").getRejectedCount(), 0);
+    }
+
+    @Test(expectedExceptions = GraphQLAnnotationsException.class)
+    public void bulkheadWithDifferentLimits_throwsException() {
+        newAnnotationsSchema().query(ConflictingQuery.class).build();
+    }
+}
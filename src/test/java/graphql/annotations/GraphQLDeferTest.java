@@ -0,0 +1,160 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDeferrable;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.incremental.DeferPayload;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalPayload;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+public class GraphQLDeferTest {
+    private static final String DEFER_THREAD = "defer-test";
+    private static volatile CountDownLatch slowLatch;
+
+    private ExecutorService executor;
+
+    @GraphQLName("DeferQuery")
+    public static class Query {
+        @GraphQLField
+        public String fast() {
+            return "fast";
+        }
+
+        @GraphQLField
+        @GraphQLDeferrable
+        public String slow() throws InterruptedException {
+            return slowLatch.await(5, SECONDS) ? "slow" : "timed out";
+        }
+
+        @GraphQLField
+        @GraphQLDeferrable
+        public String thread() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @BeforeClass
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, DEFER_THREAD));
+    }
+
+    @AfterClass
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private GraphQL buildGraphQL() {
+        return newAnnotationsSchema().query(Query.class).setDeferSupport(true).setDeferExecutor(executor).buildGraphQL();
+    }
+
+    @BeforeMethod
+    public void init() {
+        slowLatch = new CountDownLatch(1);
+    }
+
+    @Test
+    public void deferSupport_registersDeferDirective() {
+        assertNotNull(newAnnotationsSchema().query(Query.class).setDeferSupport(true).build().getDirective("defer"));
+    }
+
+    @Test
+    public void deferredSlowField_isSentAfterInitialResponse() throws InterruptedException {
+        GraphQL graphQL = buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{fast ... @defer(label: \"slow\") {slow}}", new Query()));
+
+        assertTrue(result instanceof IncrementalExecutionResult);
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("fast"), "fast");
+        assertFalse(data.containsKey("slow"));
+
+        // the slow method is released only once the initial response has been returned
+        slowLatch.countDown();
+        List<Object> deferred = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        ((IncrementalExecutionResult) result).getIncrementalItemPublisher().subscribe(new Subscriber<DelayedIncrementalPartialResult>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DelayedIncrementalPartialResult partialResult) {
+                for (IncrementalPayload payload : partialResult.getIncremental()) {
+                    Map<String, Object> payloadData = ((DeferPayload) payload).getData();
+                    deferred.add(payloadData.get("slow"));
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+        assertTrue(completed.await(5, SECONDS));
+        assertEquals(deferred, List.of("slow"));
+    }
+
+    @Test
+    public void clientOptedOut_fieldIsResolvedInline() {
+        GraphQL graphQL = buildGraphQL();
+        slowLatch.countDown();
+
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput("{fast ... @defer {slow}}").root(new Query())
+                .graphQLContext(builder -> builder.of(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, false)).build());
+
+        assertFalse(result instanceof IncrementalExecutionResult);
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, Object>>getData().get("slow"), "slow");
+    }
+
+    @Test
+    public void deferrableFieldNotInDeferredFragment_runsOnCallingThread() {
+        GraphQL graphQL = buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{thread}", new Query()));
+
+        assertFalse(result instanceof IncrementalExecutionResult);
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, Object>>getData().get("thread"), Thread.currentThread().getName());
+    }
+}
@@ -20,6 +20,7 @@ import graphql.annotations.annotationTypes.directives.activation.Directive;
 import graphql.annotations.annotationTypes.directives.activation.GraphQLDirectives;
 import graphql.annotations.annotationTypes.directives.definition.DirectiveLocations;
 import graphql.annotations.annotationTypes.directives.definition.GraphQLDirectiveDefinition;
+import graphql.annotations.dataFetchers.PipelineDataFetcher;
 import graphql.annotations.directives.AnnotationsDirectiveWiring;
 import graphql.annotations.directives.AnnotationsWiringEnvironment;
 import graphql.annotations.processor.DirectiveAndWiring;
@@ -257,6 +258,17 @@ public class GraphQLDirectivesViaClassDefinitionTest {
         assertEquals(((Map<String, String>) result.getData()).get("name").toString(), "YARINcoolSuffix");
     }
 
+    @Test
+    public void queryName_chainedDirectives_dataFetcherIsFusedIntoSinglePipeline() throws Exception {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query3.class).directives(SuffixDirective.class, UpperCase.class).build();
+
+        DataFetcher dataFetcher = schema.getCodeRegistry().getDataFetcher(FieldCoordinates.coordinates("Query3", "name"),
+                schema.getQueryType().getFieldDefinition("name"));
+        assertTrue(dataFetcher instanceof PipelineDataFetcher);
+        PipelineDataFetcher pipeline = (PipelineDataFetcher) dataFetcher;
+        assertEquals(pipeline.getPostStagesCount(), 2);
+        assertFalse(pipeline.getDataFetcher() instanceof PipelineDataFetcher);
+    }
 
     public static class Wiring implements AnnotationsDirectiveWiring {
     }
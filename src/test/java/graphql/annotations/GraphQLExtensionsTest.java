@@ -27,6 +27,7 @@ import org.testng.annotations.Test;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static graphql.Scalars.GraphQLString;
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
@@ -119,6 +120,39 @@ public class GraphQLExtensionsTest {
 
     }
 
+    @GraphQLName("CountedObject")
+    public static class CountedTestObject {
+        @GraphQLField
+        public String field() {
+            return "counted";
+        }
+    }
+
+    @GraphQLTypeExtension(GraphQLExtensionsTest.CountedTestObject.class)
+    public static class CountedTestObjectExtension {
+        private static final AtomicInteger instances = new AtomicInteger();
+        private final CountedTestObject obj;
+
+        public CountedTestObjectExtension(CountedTestObject obj) {
+            instances.incrementAndGet();
+            this.obj = obj;
+            this.field4 = obj.field() + " field4";
+        }
+
+        @GraphQLField
+        public String field2() {
+            return obj.field() + " field2";
+        }
+
+        @GraphQLField
+        public String field3() {
+            return obj.field() + " field3";
+        }
+
+        @GraphQLField
+        public String field4;
+    }
+
     @Test
     public void fields() {
         GraphQLAnnotations instance = new GraphQLAnnotations();
@@ -183,6 +217,25 @@ public class GraphQLExtensionsTest {
         assertEquals(data.get("field2"), "different field2");
     }
 
+    @Test
+    public void valuesFromSeveralExtensionFields_extensionIsConstructedOncePerRequest() {
+        GraphQLSchema schema = newAnnotationsSchema().query(CountedTestObject.class).typeExtension(CountedTestObjectExtension.class).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        CountedTestObjectExtension.instances.set(0);
+
+        ExecutionResult result = graphQL.execute(
+                GraphQLHelper.createExecutionInput("{field2 field3 field4 alias: field2}", new GraphQLExtensionsTest.CountedTestObject()));
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("field2"), "counted field2");
+        assertEquals(data.get("field3"), "counted field3");
+        assertEquals(data.get("field4"), "counted field4");
+        assertEquals(data.get("alias"), "counted field2");
+        assertEquals(CountedTestObjectExtension.instances.get(), 1);
+
+        graphQL.execute(GraphQLHelper.createExecutionInput("{field2}", new GraphQLExtensionsTest.CountedTestObject()));
+        assertEquals(CountedTestObjectExtension.instances.get(), 2);
+    }
+
     @Test
     public void testDuplicateField() {
         GraphQLAnnotations instance = new GraphQLAnnotations();
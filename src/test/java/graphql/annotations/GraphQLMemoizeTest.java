@@ -0,0 +1,229 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLMemoize;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.incremental.DeferPayload;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalPayload;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class GraphQLMemoizeTest {
+    private static final AtomicInteger calls = new AtomicInteger();
+    private static final AtomicInteger asyncCalls = new AtomicInteger();
+    private static final AtomicInteger plainCalls = new AtomicInteger();
+
+    public static class AsyncDataFetcher implements DataFetcher<CompletableFuture<String>> {
+        @Override
+        public CompletableFuture<String> get(DataFetchingEnvironment environment) {
+            asyncCalls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> "async");
+        }
+    }
+
+    @GraphQLName("MemoizeChild")
+    public static class Child {
+        private final String name;
+
+        public Child(String name) {
+            this.name = name;
+        }
+
+        @GraphQLField
+        @GraphQLMemoize
+        public String expensive() {
+            calls.incrementAndGet();
+            return name;
+        }
+    }
+
+    @GraphQLName("MemoizeQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLMemoize
+        public String expensive(@GraphQLName("x") int x) {
+            calls.incrementAndGet();
+            return "value" + x;
+        }
+
+        @GraphQLField
+        @GraphQLMemoize
+        public String nothing() {
+            calls.incrementAndGet();
+            return null;
+        }
+
+        @GraphQLField
+        @GraphQLMemoize
+        @GraphQLDataFetcher(AsyncDataFetcher.class)
+        public String async() {
+            return null;
+        }
+
+        @GraphQLField
+        public String plain() {
+            plainCalls.incrementAndGet();
+            return "plain";
+        }
+
+        @GraphQLField
+        public Child first() {
+            return new Child("first");
+        }
+
+        @GraphQLField
+        public Child second() {
+            return new Child("second");
+        }
+    }
+
+    private GraphQL graphQL;
+
+    @BeforeMethod
+    public void init() {
+        graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        calls.set(0);
+        asyncCalls.set(0);
+        plainCalls.set(0);
+    }
+
+    @Test
+    public void aliasesAndFragments_sameArguments_calledOnce() {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(
+                "{a: expensive(x: 1) b: expensive(x: 1) c: expensive(x: 2) ...F} fragment F on MemoizeQuery {expensive(x: 1)}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("a"), "value1");
+        assertEquals(data.get("b"), "value1");
+        assertEquals(data.get("c"), "value2");
+        assertEquals(data.get("expensive"), "value1");
+        assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void nullValue_isMemoized() {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{a: nothing b: nothing}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        assertNull(result.<Map<String, Object>>getData().get("a"));
+        assertEquals(calls.get(), 1);
+    }
+
+    @Test
+    public void differentSources_calledPerSource() {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(
+                "{first {a: expensive b: expensive} second {expensive}}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(((Map<String, Object>) data.get("first")).get("b"), "first");
+        assertEquals(((Map<String, Object>) data.get("second")).get("expensive"), "second");
+        assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void asyncField_futureIsShared() {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{a: async b: async}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, Object>>getData().get("b"), "async");
+        assertEquals(asyncCalls.get(), 1);
+    }
+
+    @Test
+    public void memoizedValues_areNotSharedBetweenRequests() {
+        graphQL.execute(GraphQLHelper.createExecutionInput("{expensive(x: 1)}", new Query()));
+        graphQL.execute(GraphQLHelper.createExecutionInput("{expensive(x: 1)}", new Query()));
+        assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void reusedContext_valuesReleasedAfterEachRequest() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).buildGraphQL();
+        ExecutionInput executionInput = GraphQLHelper.createExecutionInput("{expensive(x: 1)}", new Query());
+
+        graphQL.execute(executionInput);
+        graphQL.execute(executionInput);
+
+        assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void reusedContext_deferredValuesNotServedToNextRequest() throws InterruptedException {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setDeferSupport(true).buildGraphQL();
+        ExecutionInput executionInput = GraphQLHelper.createExecutionInput("{plain ... @defer {expensive(x: 1)}}", new Query());
+
+        assertEquals(getDeferredData(graphQL.execute(executionInput)), List.of("value1"));
+        assertEquals(getDeferredData(graphQL.execute(executionInput)), List.of("value1"));
+
+        assertEquals(calls.get(), 2);
+    }
+
+    private static List<Object> getDeferredData(ExecutionResult result) throws InterruptedException {
+        assertTrue(result instanceof IncrementalExecutionResult);
+        List<Object> deferred = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        ((IncrementalExecutionResult) result).getIncrementalItemPublisher().subscribe(new Subscriber<DelayedIncrementalPartialResult>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DelayedIncrementalPartialResult partialResult) {
+                for (IncrementalPayload payload : partialResult.getIncremental()) {
+                    deferred.add(((DeferPayload) payload).<Map<String, Object>>getData().get("expensive"));
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+        assertTrue(completed.await(5, SECONDS));
+        return deferred;
+    }
+
+    @Test
+    public void fieldWithoutAnnotation_calledPerSelection() {
+        graphQL.execute(GraphQLHelper.createExecutionInput("{a: plain b: plain}", new Query()));
+        assertEquals(plainCalls.get(), 2);
+    }
+}
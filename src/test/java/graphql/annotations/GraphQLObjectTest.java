@@ -19,6 +19,7 @@ import graphql.GraphQL;
 import graphql.Scalars;
 import graphql.annotations.annotationTypes.*;
 import graphql.annotations.annotationTypes.GraphQLNonNull;
+import graphql.annotations.dataFetchers.FieldAccessDataFetcher;
 import graphql.annotations.processor.GraphQLAnnotations;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.retrievers.GraphQLFieldRetriever;
@@ -310,7 +311,8 @@ public class GraphQLObjectTest {
         DataFetcher dataFetcher1 = CodeRegistryUtil.getDataFetcher(this.graphQLAnnotations.getContainer().getCodeRegistryBuilder(), object, fields.get(5));
         DataFetcher dataFetcher2 = CodeRegistryUtil.getDataFetcher(this.graphQLAnnotations.getContainer().getCodeRegistryBuilder(), object, fields.get(6));
         assertEquals(dataFetcher1.getClass(), PropertyDataFetcher.class);
-        assertEquals(dataFetcher2.getClass(), PropertyDataFetcher.class);
+        assertEquals(dataFetcher2.getClass(), FieldAccessDataFetcher.class);
+        assertTrue(((FieldAccessDataFetcher) dataFetcher2).isDirect());
 
         assertEquals(fields.get(7).getName(), "z_nonOptionalString");
         assertTrue(fields.get(7).getType() instanceof graphql.schema.GraphQLNonNull);
@@ -562,6 +564,65 @@ public class GraphQLObjectTest {
 
     }
 
+    public static class NoGetterTestField {
+        @GraphQLField
+        @GraphQLName("field1")
+        private String field = "test";
+
+        @GraphQLField
+        private boolean booleanField = true;
+
+        @GraphQLField
+        private int intField = 7;
+    }
+
+    @Test
+    public void queryFieldWithoutGetter_readDirectly() {
+        GraphQLSchema schema = newAnnotationsSchema().query(NoGetterTestField.class).build();
+        DataFetcher dataFetcher = schema.getCodeRegistry().getDataFetcher(FieldCoordinates.coordinates("NoGetterTestField", "intField"),
+                schema.getQueryType().getFieldDefinition("intField"));
+        assertTrue(((FieldAccessDataFetcher) dataFetcher).isDirect());
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(GraphQLHelper.createExecutionInput("{field1, booleanField, intField}", new NoGetterTestField()));
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("field1"), "test");
+        assertEquals(data.get("booleanField"), true);
+        assertEquals(data.get("intField"), 7);
+
+        Map<String, Object> mapSource = new HashMap<>();
+        mapSource.put("intField", 8);
+        result = GraphQL.newGraphQL(schema).build().execute(GraphQLHelper.createExecutionInput("{intField}", mapSource));
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, Object>>getData().get("intField"), 8);
+    }
+
+    public static class NoGetterSubclass extends NoGetterTestField {
+        public int getIntField() {
+            return 9;
+        }
+    }
+
+    public static class NoGetterSubclassQuery {
+        @GraphQLField
+        public NoGetterTestField subclass() {
+            return new NoGetterSubclass();
+        }
+    }
+
+    @Test
+    public void queryFieldWithoutGetter_subclassWithGetter_readThroughGetter() {
+        GraphQLSchema schema = newAnnotationsSchema().query(NoGetterSubclassQuery.class).build();
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build()
+                .execute(GraphQLHelper.createExecutionInput("{subclass {field1 intField}}", new NoGetterSubclassQuery()));
+
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = (Map<String, Object>) result.<Map<String, Object>>getData().get("subclass");
+        assertEquals(data.get("field1"), "test");
+        assertEquals(data.get("intField"), 9);
+    }
+
     @Test
     public void defaultArg() {
         GraphQLSchema schema = newAnnotationsSchema().query(TestObject.class).build();
@@ -0,0 +1,152 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLTimeout;
+import graphql.annotations.execution.DataFetcherTimeoutException;
+import graphql.annotations.execution.RequestDeadline;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class GraphQLTimeoutTest {
+    private static volatile CompletableFuture<Object> pending;
+
+    public static class PendingDataFetcher implements DataFetcher<CompletableFuture<Object>> {
+        @Override
+        public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+            pending = new CompletableFuture<>();
+            return pending;
+        }
+    }
+
+    public static class FastDataFetcher implements DataFetcher<CompletableFuture<Object>> {
+        @Override
+        public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+            return CompletableFuture.supplyAsync(() -> "fast");
+        }
+    }
+
+    @GraphQLName("TimeoutQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLTimeout(50)
+        @GraphQLDataFetcher(PendingDataFetcher.class)
+        public String slow;
+
+        @GraphQLField
+        @GraphQLTimeout(5000)
+        @GraphQLDataFetcher(FastDataFetcher.class)
+        public String fast() {
+            return null;
+        }
+
+        @GraphQLField
+        @GraphQLDataFetcher(PendingDataFetcher.class)
+        public String unbounded() {
+            return null;
+        }
+
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+    }
+
+    @BeforeMethod
+    public void init() {
+        pending = null;
+    }
+
+    @Test
+    public void fieldTimeout_failsFieldAndCancelsFuture() {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{slow fast name}", new Query()));
+
+        Map<String, Object> data = result.getData();
+        assertNull(data.get("slow"));
+        assertEquals(data.get("fast"), "fast");
+        assertEquals(data.get("name"), "name");
+        assertEquals(result.getErrors().size(), 1);
+        assertTimeoutError(result.getErrors().get(0), "slow");
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    public void expiredRequestDeadline_failsFieldsWithTimeout() {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        RequestDeadline deadline = RequestDeadline.after(Duration.ZERO);
+
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput("{fast name}").root(new Query())
+                .graphQLContext(builder -> builder.of(RequestDeadline.CONTEXT_KEY, deadline)).build());
+
+        assertNull(result.<Map<String, Object>>getData().get("fast"));
+        assertEquals(result.<Map<String, Object>>getData().get("name"), "name");
+        assertEquals(result.getErrors().size(), 1);
+        assertTimeoutError(result.getErrors().get(0), "fast");
+    }
+
+    @Test
+    public void requestTimeout_appliedToFieldsWithoutTimeout() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setRequestTimeout(Duration.ofMillis(50)).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{unbounded name}", new Query()));
+
+        assertNull(result.<Map<String, Object>>getData().get("unbounded"));
+        assertEquals(result.<Map<String, Object>>getData().get("name"), "name");
+        assertTimeoutError(result.getErrors().get(0), "unbounded");
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    public void cancelledRequest_cancelsPendingFutures() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setRequestTimeout(Duration.ofSeconds(30)).buildGraphQL();
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofSeconds(30));
+
+        CompletableFuture<ExecutionResult> result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{unbounded}").root(new Query())
+                .graphQLContext(builder -> builder.of(RequestDeadline.CONTEXT_KEY, deadline)).build());
+        assertFalse(result.isDone());
+        assertEquals(deadline.getPendingCount(), 1);
+
+        // the client has gone
+        deadline.cancel();
+
+        assertTrue(pending.isCancelled());
+        assertEquals(deadline.getPendingCount(), 0);
+        assertEquals(result.join().getErrors().size(), 1);
+    }
+
+    private static void assertTimeoutError(GraphQLError error, String field) {
+        assertTrue(error instanceof ExceptionWhileDataFetching, error.toString());
+        assertTrue(((ExceptionWhileDataFetching) error).getException() instanceof DataFetcherTimeoutException);
+        assertEquals(error.getPath(), Arrays.asList(field));
+    }
+}
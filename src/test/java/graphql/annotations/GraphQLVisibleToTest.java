@@ -0,0 +1,192 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLVisibleTo;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class GraphQLVisibleToTest {
+
+    @GraphQLName("Account")
+    public static class Account {
+        @GraphQLField
+        public String name() {
+            return "account";
+        }
+
+        @GraphQLField
+        @GraphQLVisibleTo({"admin", "support"})
+        public String email() {
+            return "account@example.com";
+        }
+    }
+
+    @GraphQLName("Profile")
+    public static class Profile {
+        @GraphQLField
+        public String bio = "bio";
+    }
+
+    @GraphQLName("Query")
+    public static class Query {
+        @GraphQLField
+        public Account account() {
+            return new Account();
+        }
+
+        @GraphQLField
+        public Profile profile() {
+            return new Profile();
+        }
+
+        @GraphQLField
+        @GraphQLVisibleTo("admin")
+        public String auditLog;
+
+        public String getAuditLog() {
+            return "log";
+        }
+    }
+
+    @GraphQLName("Secrets")
+    public static class Secrets {
+        @GraphQLField
+        @GraphQLVisibleTo("admin")
+        public String key() {
+            return "key";
+        }
+    }
+
+    @GraphQLName("Audit")
+    public static class Audit {
+        @GraphQLField
+        public String entry() {
+            return "entry";
+        }
+    }
+
+    @GraphQLName("PrunedQuery")
+    public static class PrunedQuery {
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+
+        @GraphQLField
+        public Secrets secrets() {
+            return new Secrets();
+        }
+
+        @GraphQLField
+        @GraphQLVisibleTo("admin")
+        public Audit audit() {
+            return new Audit();
+        }
+    }
+
+    @GraphQLName("AdminQuery")
+    public static class AdminQuery {
+        @GraphQLField
+        @GraphQLVisibleTo("admin")
+        public String auditLog() {
+            return "log";
+        }
+    }
+
+    @Test
+    public void buildForRoles_fieldsNotVisibleToRoleAreRemoved() {
+        Map<String, GraphQLSchema> schemas = newAnnotationsSchema().query(Query.class).buildForRoles("admin", "support", "user");
+
+        GraphQLObjectType adminQuery = schemas.get("admin").getQueryType();
+        assertNotNull(adminQuery.getFieldDefinition("auditLog"));
+        assertNotNull(schemas.get("admin").getObjectType("Account").getFieldDefinition("email"));
+
+        assertNull(schemas.get("support").getQueryType().getFieldDefinition("auditLog"));
+        assertNotNull(schemas.get("support").getObjectType("Account").getFieldDefinition("email"));
+
+        GraphQLObjectType userQuery = schemas.get("user").getQueryType();
+        assertNull(userQuery.getFieldDefinition("auditLog"));
+        assertNotNull(userQuery.getFieldDefinition("account"));
+        assertNull(schemas.get("user").getObjectType("Account").getFieldDefinition("email"));
+        assertNotNull(schemas.get("user").getObjectType("Account").getFieldDefinition("name"));
+    }
+
+    @Test
+    public void buildForRoles_unchangedTypesAreShared() {
+        Map<String, GraphQLSchema> schemas = newAnnotationsSchema().query(Query.class).buildForRoles("admin", "user");
+
+        assertSame(schemas.get("admin").getObjectType("Profile"), schemas.get("user").getObjectType("Profile"));
+        assertSame(schemas.get("admin").getCodeRegistry(), schemas.get("user").getCodeRegistry());
+    }
+
+    @Test
+    public void buildForRoles_prunedSchemaIsExecutable() {
+        Map<String, GraphQLSchema> schemas = newAnnotationsSchema().query(Query.class).buildForRoles("admin", "user");
+
+        GraphQL user = GraphQL.newGraphQL(schemas.get("user")).build();
+        ExecutionResult result = user.execute(GraphQLHelper.createExecutionInput("{account { name } profile { bio }}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(((Map<String, Object>) result.<Map<String, Object>>getData().get("account")).get("name"), "account");
+        assertFalse(user.execute(GraphQLHelper.createExecutionInput("{account { email }}", new Query())).getErrors().isEmpty());
+
+        GraphQL admin = GraphQL.newGraphQL(schemas.get("admin")).build();
+        result = admin.execute(GraphQLHelper.createExecutionInput("{auditLog account { email }}", new Query()));
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(result.<Map<String, Object>>getData().get("auditLog"), "log");
+    }
+
+    @Test
+    public void buildForRoles_typeWithoutVisibleFields_removedWithItsFields() {
+        Map<String, GraphQLSchema> schemas = newAnnotationsSchema().query(PrunedQuery.class).buildForRoles("admin", "user");
+
+        assertNotNull(schemas.get("admin").getObjectType("Secrets"));
+        assertNotNull(schemas.get("admin").getQueryType().getFieldDefinition("secrets"));
+
+        assertNull(schemas.get("user").getType("Secrets"));
+        assertNull(schemas.get("user").getQueryType().getFieldDefinition("secrets"));
+        assertNotNull(schemas.get("user").getQueryType().getFieldDefinition("name"));
+        ExecutionResult result = GraphQL.newGraphQL(schemas.get("user")).build()
+                .execute(GraphQLHelper.createExecutionInput("{name}", new PrunedQuery()));
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void buildForRoles_additionalTypeNoLongerReachable_removed() {
+        Map<String, GraphQLSchema> schemas = newAnnotationsSchema().query(PrunedQuery.class).additionalType(Audit.class)
+                .buildForRoles("admin", "user");
+
+        assertNotNull(schemas.get("admin").getObjectType("Audit"));
+        assertNull(schemas.get("user").getType("Audit"));
+        assertNotNull(schemas.get("user").getType("PageInfo"));
+    }
+
+    @Test
+    public void buildForRoles_queryTypeWithoutVisibleFields_throws() {
+        GraphQLAnnotationsException exception = expectThrows(GraphQLAnnotationsException.class,
+                () -> newAnnotationsSchema().query(AdminQuery.class).buildForRoles("admin", "user"));
+
+        assertTrue(exception.getMessage().contains("user"));
+    }
+}
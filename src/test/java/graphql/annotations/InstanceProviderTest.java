@@ -0,0 +1,198 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLInstanceScope;
+import graphql.annotations.annotationTypes.GraphQLInvokeDetached;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.connection.AbstractPaginatedData;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.PaginatedData;
+import graphql.annotations.connection.PaginatedDataConnectionFetcher;
+import graphql.annotations.instances.InstanceProvider;
+import graphql.annotations.instances.InstanceScope;
+import graphql.annotations.processor.util.ReflectionKit;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class InstanceProviderTest {
+
+    public static class RecordingInstanceProvider implements InstanceProvider {
+        private final List<Class<?>> requested = new ArrayList<>();
+
+        @Override
+        public <T> T getInstance(Class<T> clazz) {
+            requested.add(clazz);
+            return ReflectionKit.newInstance(clazz);
+        }
+
+        @Override
+        public <T> T getInstance(Class<T> clazz, DataFetcher<?> dataFetcher) {
+            requested.add(clazz);
+            return InstanceProvider.super.getInstance(clazz, dataFetcher);
+        }
+    }
+
+    @GraphQLName("ProviderItem")
+    public static class Item {
+        @GraphQLField
+        public String name = "item";
+    }
+
+    public static class CountingDataFetcher implements DataFetcher<Integer> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Integer get(DataFetchingEnvironment environment) {
+            return calls.incrementAndGet();
+        }
+    }
+
+    @GraphQLInstanceScope(InstanceScope.REQUEST)
+    public static class RequestScopedApi {
+        private static final AtomicInteger instances = new AtomicInteger();
+        private final int id = instances.incrementAndGet();
+
+        @GraphQLField
+        @GraphQLInvokeDetached
+        public int first() {
+            return id;
+        }
+
+        @GraphQLField
+        @GraphQLInvokeDetached
+        public int second() {
+            return id;
+        }
+    }
+
+    public static class CallScopedApi {
+        private static final AtomicInteger instances = new AtomicInteger();
+        private final int id = instances.incrementAndGet();
+
+        @GraphQLField
+        @GraphQLInvokeDetached
+        public int value() {
+            return id;
+        }
+    }
+
+    @GraphQLName("Query")
+    public static class Query {
+        @GraphQLField
+        @GraphQLDataFetcher(CountingDataFetcher.class)
+        public Integer counter;
+
+        @GraphQLField
+        @GraphQLDataFetcher(CountingDataFetcher.class)
+        public Integer otherCounter;
+
+        @GraphQLField
+        public RequestScopedApi requestScoped;
+
+        @GraphQLField
+        public CallScopedApi callScoped;
+
+        @GraphQLField
+        @GraphQLConnection
+        public PaginatedData<Item> items() {
+            return new AbstractPaginatedData<Item>(false, false, List.of(new Item())) {
+                @Override
+                public String getCursor(Item entity) {
+                    return entity.name;
+                }
+            };
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        RequestScopedApi.instances.set(0);
+        CallScopedApi.instances.set(0);
+    }
+
+    @Test
+    public void dataFetchers_singletonByDefault_takenOnceFromProvider() {
+        RecordingInstanceProvider provider = new RecordingInstanceProvider();
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).setInstanceProvider(provider).build();
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(GraphQLHelper.createExecutionInput("{counter otherCounter}", new Query()));
+
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("counter"), 1);
+        assertEquals(data.get("otherCounter"), 2);
+        assertEquals(provider.requested.stream().filter(CountingDataFetcher.class::equals).count(), 1L);
+    }
+
+    @Test
+    public void connectionFetchers_takenFromProvider() {
+        RecordingInstanceProvider provider = new RecordingInstanceProvider();
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).setInstanceProvider(provider).build();
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(GraphQLHelper.createExecutionInput("{items {edges {node {name}}}}", new Query()));
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        assertTrue(provider.requested.contains(PaginatedDataConnectionFetcher.class));
+    }
+
+    @Test
+    public void invokeDetached_requestScope_oneInstancePerRequest() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        Query query = new Query();
+        query.requestScoped = new RequestScopedApi();
+        RequestScopedApi.instances.set(0);
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{requestScoped {first second}}", query));
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Map<String, Object>> data = result.getData();
+        assertEquals(data.get("requestScoped").get("first"), 1);
+        assertEquals(data.get("requestScoped").get("second"), 1);
+
+        result = graphQL.execute(GraphQLHelper.createExecutionInput("{requestScoped {first}}", query));
+        data = result.getData();
+        assertEquals(data.get("requestScoped").get("first"), 2);
+    }
+
+    @Test
+    public void invokeDetached_defaultScope_newInstancePerCall() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).build();
+        Query query = new Query();
+        query.callScoped = new CallScopedApi();
+        CallScopedApi.instances.set(0);
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(GraphQLHelper.createExecutionInput("{callScoped {value} other: callScoped {value}}", query));
+
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Map<String, Object>> data = result.getData();
+        assertEquals(data.get("callScoped").get("value"), 1);
+        assertEquals(data.get("other").get("value"), 2);
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLDeprecate;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.strategies.IntrospectionCachingExecutionStrategy;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.DataFetcherExceptionHandlerParameters;
+import graphql.execution.DataFetcherExceptionHandlerResult;
+import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class IntrospectionCachingExecutionStrategyTest {
+
+    public static class Query {
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+
+        @GraphQLField
+        @GraphQLDeprecate("use name")
+        public String oldName() {
+            return "old name";
+        }
+
+        @GraphQLField
+        public Child child() {
+            return new Child();
+        }
+    }
+
+    public static class Child {
+        @GraphQLField
+        public String failing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    public static class CountingExceptionHandler implements DataFetcherExceptionHandler {
+        private final AtomicInteger exceptions = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<DataFetcherExceptionHandlerResult> handleException(DataFetcherExceptionHandlerParameters handlerParameters) {
+            exceptions.incrementAndGet();
+            return new SimpleDataFetcherExceptionHandler().handleException(handlerParameters);
+        }
+    }
+
+    public static class CountingInstrumentation extends SimplePerformantInstrumentation {
+        private final AtomicInteger executions = new AtomicInteger();
+
+        @Override
+        public ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
+            executions.incrementAndGet();
+            return super.beginExecutionStrategy(parameters, state);
+        }
+    }
+
+    private static final String NAME_LENGTH_LOADER = "nameLength";
+
+    public static class NameLengthDataFetcher implements DataFetcher<CompletableFuture<Integer>> {
+        @Override
+        public CompletableFuture<Integer> get(DataFetchingEnvironment environment) {
+            BatchedUser user = environment.getSource();
+            return environment.<String, Integer>getDataLoader(NAME_LENGTH_LOADER).load(user.name);
+        }
+    }
+
+    public static class BatchedUser {
+        @GraphQLField
+        public String name;
+
+        public BatchedUser(String name) {
+            this.name = name;
+        }
+
+        @GraphQLField
+        @GraphQLDataFetcher(NameLengthDataFetcher.class)
+        public Integer nameLength() {
+            return null;
+        }
+    }
+
+    public static class BatchedQuery {
+        @GraphQLField
+        public List<BatchedUser> users() {
+            return Arrays.asList(new BatchedUser("a"), new BatchedUser("bb"), new BatchedUser("ccc"));
+        }
+    }
+
+    private GraphQLSchema schema;
+    private CountingExceptionHandler exceptionHandler;
+    private CountingInstrumentation countingInstrumentation;
+    private IntrospectionCachingExecutionStrategy cachingStrategy;
+    private GraphQL graphQL;
+
+    @BeforeMethod
+    public void setUp() {
+        schema = newAnnotationsSchema().query(Query.class).build();
+        exceptionHandler = new CountingExceptionHandler();
+        countingInstrumentation = new CountingInstrumentation();
+        cachingStrategy = new IntrospectionCachingExecutionStrategy(exceptionHandler, IntrospectionCachingExecutionStrategy.DEFAULT_MAXIMUM_SIZE);
+        graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(cachingStrategy).instrumentation(countingInstrumentation).build();
+    }
+
+    @Test
+    public void execute_fullIntrospectionTwice_executedOnce() {
+        ExecutionResult first = graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY);
+        ExecutionResult second = graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY);
+
+        assertTrue(first.getErrors().isEmpty());
+        assertEquals(second.<Object>getData(), first.getData());
+        assertEquals(countingInstrumentation.executions.get(), 1);
+        assertEquals(cachingStrategy.getSize(), 1);
+    }
+
+    @Test
+    public void execute_includeDeprecatedVariants_cachedSeparately() {
+        String query = "query Fields($deprecated: Boolean) { __type(name: \"Query\") { fields(includeDeprecated: $deprecated) { name } } }";
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(getFieldsCount(query, true), 3);
+            assertEquals(getFieldsCount(query, false), 2);
+        }
+
+        assertEquals(countingInstrumentation.executions.get(), 2);
+        assertEquals(cachingStrategy.getSize(), 2);
+    }
+
+    @Test
+    public void execute_regularQuery_notCached() {
+        graphQL.execute(GraphQLHelper.createExecutionInput("{ name __typename }", new Query()));
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ name __typename }", new Query()));
+
+        assertEquals(result.<Map<String, Object>>getData().get("name"), "name");
+        assertEquals(countingInstrumentation.executions.get(), 2);
+        assertEquals(cachingStrategy.getSize(), 0);
+    }
+
+    @Test
+    public void execute_cacheFull_leastRecentlyUsedResultEvicted() {
+        cachingStrategy = new IntrospectionCachingExecutionStrategy(1);
+        graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(cachingStrategy).instrumentation(countingInstrumentation).build();
+
+        graphQL.execute("{ __schema { queryType { name } } }");
+        graphQL.execute("{ __type(name: \"Query\") { name } }");
+        graphQL.execute("{ __schema { queryType { name } } }");
+
+        assertEquals(countingInstrumentation.executions.get(), 3);
+        assertEquals(cachingStrategy.getSize(), 1);
+    }
+
+    @Test
+    public void execute_nestedFieldFails_handledByExceptionHandler() {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ child { failing } }", new Query()));
+
+        assertEquals(result.getErrors().size(), 1);
+        assertEquals(exceptionHandler.exceptions.get(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void constructor_nonPositiveMaximumSize_throws() {
+        new IntrospectionCachingExecutionStrategy(0);
+    }
+
+    @Test
+    public void execute_dataLoaderListQuery_loadedInOneBatch() {
+        AtomicInteger batches = new AtomicInteger();
+        BatchLoader<String, Integer> batchLoader = keys -> {
+            batches.incrementAndGet();
+            return CompletableFuture.completedFuture(keys.stream().map(String::length).collect(Collectors.toList()));
+        };
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(NAME_LENGTH_LOADER, DataLoaderFactory.newDataLoader(batchLoader));
+        GraphQL batchedGraphQL = newAnnotationsSchema().query(BatchedQuery.class).setIntrospectionCache(true).buildGraphQL();
+
+        ExecutionResult result = batchedGraphQL.execute(ExecutionInput.newExecutionInput("{ users { nameLength } }")
+                .root(new BatchedQuery()).dataLoaderRegistry(registry).build());
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, Object>> users = (List<Map<String, Object>>) result.<Map<String, Object>>getData().get("users");
+        assertEquals(users.get(2).get("nameLength"), 3);
+        assertEquals(batches.get(), 1);
+    }
+
+    private int getFieldsCount(String query, boolean includeDeprecated) {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query(query)
+                .variables(Collections.singletonMap("deprecated", includeDeprecated)).build());
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> type = (Map<String, Object>) result.<Map<String, Object>>getData().get("__type");
+        return ((List<Object>) type.get("fields")).size();
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.annotations.dataFetchers.MethodInvoker;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.testng.Assert.*;
+
+public class MethodInvokerTest {
+
+    public static class Target {
+        public long twice(long value) {
+            return value * 2;
+        }
+
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    public void invoke_methodThrows_wrappedInInvocationTargetException() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("fail"));
+
+        InvocationTargetException exception = expectThrows(InvocationTargetException.class, () -> invoker.invoke(new Target(), new Object[0]));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void invoke_wrongTargetType_throwsIllegalArgumentException() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("fail"));
+
+        expectThrows(IllegalArgumentException.class, () -> invoker.invoke("not a target", new Object[0]));
+    }
+
+    @Test
+    public void invoke_wrongArgumentType_throwsIllegalArgumentException() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("twice", long.class));
+
+        expectThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), new Object[]{"one"}));
+        expectThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), new Object[]{null}));
+        expectThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), new Object[]{1L, 2L}));
+    }
+
+    @Test
+    public void invoke_widenedArgument_convertedLikeReflection() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("twice", long.class));
+
+        assertEquals(invoker.invoke(new Target(), new Object[]{3L}), 6L);
+        assertEquals(invoker.invoke(new Target(), new Object[]{3}), 6L);
+    }
+}
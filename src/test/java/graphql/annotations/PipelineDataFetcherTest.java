@@ -0,0 +1,88 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.annotations.dataFetchers.PipelineDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class PipelineDataFetcherTest {
+
+    @Test
+    public void get_postStages_appliedInOrderOfAddition() throws Exception {
+        DataFetcher<String> dataFetcher = environment -> "a";
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(dataFetcher)
+                .withPostStage((environment, value) -> value + "b")
+                .withPostStage((environment, value) -> value + "c");
+
+        assertEquals(pipeline.get(newDataFetchingEnvironment().build()), "abc");
+    }
+
+    @Test
+    public void get_preStages_appliedAsIfWrapped() throws Exception {
+        DataFetcher<Object> dataFetcher = DataFetchingEnvironment::getSource;
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(dataFetcher)
+                .withPreStage(environment -> newDataFetchingEnvironment(environment).source(environment.getSource() + "1").build())
+                .withPreStage(environment -> newDataFetchingEnvironment(environment).source(environment.getSource() + "2").build());
+
+        assertEquals(pipeline.get(newDataFetchingEnvironment().source("s").build()), "s21");
+    }
+
+    @Test
+    public void get_postStages_receiveEnvironmentOfDataFetcher() throws Exception {
+        DataFetcher<Object> dataFetcher = DataFetchingEnvironment::getSource;
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(dataFetcher)
+                .withPostStage((environment, value) -> value + "|" + environment.getSource())
+                .withPreStage(environment -> newDataFetchingEnvironment(environment).source(environment.getSource() + "1").build());
+
+        assertEquals(pipeline.get(newDataFetchingEnvironment().source("s").build()), "s1|s1");
+    }
+
+    @Test
+    public void get_asyncDataFetcher_postStagesAppliedOnCompletion() throws Exception {
+        DataFetcher<CompletableFuture<String>> dataFetcher = environment -> CompletableFuture.completedFuture("a");
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(dataFetcher)
+                .withPostStage((environment, value) -> value + "b");
+
+        Object result = pipeline.get(newDataFetchingEnvironment().build());
+        assertEquals(((CompletionStage<?>) result).toCompletableFuture().get(), "ab");
+    }
+
+    @Test
+    public void get_asyncPostStage_laterStagesReceiveCompletedValue() throws Exception {
+        DataFetcher<String> dataFetcher = environment -> "a";
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(dataFetcher)
+                .withPostStage((environment, value) -> CompletableFuture.supplyAsync(() -> value + "b"))
+                .withPostStage((environment, value) -> ((String) value).toUpperCase());
+
+        Object result = pipeline.get(newDataFetchingEnvironment().build());
+        assertEquals(((CompletionStage<?>) result).toCompletableFuture().get(), "AB");
+    }
+
+    @Test
+    public void of_pipeline_returnsSamePipeline() {
+        PipelineDataFetcher pipeline = PipelineDataFetcher.of(environment -> null);
+
+        assertSame(PipelineDataFetcher.of(pipeline), pipeline);
+        assertEquals(pipeline.withPostStage((environment, value) -> value).getPostStagesCount(), 1);
+        assertEquals(pipeline.getPostStagesCount(), 0);
+    }
+}
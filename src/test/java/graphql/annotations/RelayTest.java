@@ -28,6 +28,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
@@ -104,6 +105,32 @@ public class RelayTest {
 
     }
 
+    public static class RangeInput {
+        public RangeInput(@GraphQLName("from") int from, @GraphQLName("to") int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @GraphQLField
+        private int from;
+
+        @GraphQLField
+        private int to;
+    }
+
+    public static class InputObjectTestObject {
+        @GraphQLField
+        @GraphQLRelayMutation
+        public Result doSomethingWithRanges(@GraphQLName("range") RangeInput range, @GraphQLName("ranges") List<RangeInput> ranges,
+                                            DataFetchingEnvironment environment) {
+            int sum = range.to - range.from;
+            for (RangeInput other : ranges) {
+                sum += other.to - other.from;
+            }
+            return new Result(environment != null ? sum : -1);
+        }
+    }
+
     @Test(expectedExceptions = RuntimeException.class)
     public void notAnObjectType() {
         GraphQLObjectType object = this.graphQLAnnotations.object(WrongReturnType.class);
@@ -254,4 +281,24 @@ public class RelayTest {
         assertEquals(returns.get("getI"), -1);
         assertEquals(returns.get("clientMutationId"), "1");
     }
+
+    @Test
+    public void inputObjectArgsMutation_argumentsAreConvertedToParameterTypes() {
+        GraphQLSchema schema = newAnnotationsSchema().query(InputObjectTestObject.class).mutation(InputObjectTestObject.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new EnhancedExecutionStrategy()).build();
+
+        String mutation = "mutation { doSomethingWithRanges(input: {range: {from: 1, to: 5}, ranges: [{from: 0, to: 2}, {from: 3, to: 4}], " +
+                "clientMutationId: \"1\"}) { getI clientMutationId } }";
+        for (int i = 0; i < 2; i++) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(mutation, new InputObjectTestObject()));
+
+            assertEquals(result.getErrors().size(), 0);
+
+            Map<String, Object> returns = (Map<String, Object>) ((Map<String, Object>) result.getData()).get("doSomethingWithRanges");
+
+            assertEquals(returns.get("getI"), 7);
+            assertEquals(returns.get("clientMutationId"), "1");
+        }
+    }
 }
@@ -16,9 +16,11 @@ import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.annotations.GraphQLHelper;
 import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLInstanceScope;
 import graphql.annotations.annotationTypes.GraphQLName;
 import graphql.annotations.annotationTypes.GraphQLNonNull;
 import graphql.annotations.connection.exceptions.GraphQLConnectionException;
+import graphql.annotations.instances.InstanceScope;
 import graphql.annotations.processor.GraphQLAnnotations;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
@@ -36,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -318,6 +321,64 @@ public class GraphQLConnectionTest {
         assertEquals(edges.size(), 0);
     }
 
+    public static class CountingConnection implements ConnectionFetcher {
+        private static final AtomicInteger instances = new AtomicInteger();
+
+        public CountingConnection(Object o) {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) {
+            return EMPTY_CONNECTION;
+        }
+    }
+
+    @GraphQLInstanceScope(InstanceScope.CALL)
+    public static class PerCallCountingConnection implements ConnectionFetcher {
+        private static final AtomicInteger instances = new AtomicInteger();
+
+        public PerCallCountingConnection(Object o) {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) {
+            return EMPTY_CONNECTION;
+        }
+    }
+
+    public static class TestCountingConnections {
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = CountingConnection.class)
+        public PaginatedData<Obj> getObjs() {
+            return null;
+        }
+
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = PerCallCountingConnection.class)
+        public PaginatedData<Obj> getPerCallObjs() {
+            return null;
+        }
+    }
+
+    @Test
+    public void connectionFetcher_constructedOnceUnlessScoped() {
+        CountingConnection.instances.set(0);
+        PerCallCountingConnection.instances.set(0);
+        GraphQLSchema schema = newAnnotationsSchema().query(TestCountingConnections.class).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+
+        for (int i = 0; i < 3; i++) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(
+                    "{ getObjs { edges { cursor } } getPerCallObjs { edges { cursor } } }", new TestCountingConnections()));
+            assertTrue(result.getErrors().isEmpty());
+        }
+
+        assertEquals(CountingConnection.instances.get(), 1);
+        assertEquals(PerCallCountingConnection.instances.get(), 3);
+    }
+
     @Test
     public void duplicateConnection() {
         try {
@@ -28,6 +28,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static org.testng.Assert.assertEquals;
@@ -41,6 +42,7 @@ public class GraphQLEnhancedConnectionTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
+        CountingConnectionDataFetcher.cursors.set(0);
         this.graphQLAnnotations = new GraphQLAnnotations();
         GraphQLSchema schema = newAnnotationsSchema().query(TestListField.class).build();
         graphQL = GraphQL.newGraphQL(schema).build();
@@ -79,6 +81,11 @@ public class GraphQLEnhancedConnectionTest {
         @GraphQLDataFetcher(GoodConnectionDataFetcher.class)
         public PaginatedData<Obj> objsAsync;
 
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = PaginatedDataConnectionFetcher.class)
+        @GraphQLDataFetcher(CountingConnectionDataFetcher.class)
+        public PaginatedData<Obj> countedObjs;
+
         public TestListField(PaginatedData<Obj> objs) {
             this.objs = objs;
         }
@@ -104,6 +111,22 @@ public class GraphQLEnhancedConnectionTest {
 
     }
 
+    public static class CountingConnectionDataFetcher implements DataFetcher<PaginatedData<Obj>> {
+        private static final AtomicInteger cursors = new AtomicInteger();
+
+        @Override
+        public PaginatedData<Obj> get(DataFetchingEnvironment environment) {
+            List<Obj> objs = Arrays.asList(new Obj("1", "1"), new Obj("2", "2"), new Obj("3", "3"));
+            return new AbstractPaginatedData<Obj>(false, true, objs) {
+                @Override
+                public String getCursor(Obj entity) {
+                    cursors.incrementAndGet();
+                    return entity.getId();
+                }
+            };
+        }
+    }
+
 public static class NotValidConnectionField {
     @GraphQLField
     @GraphQLConnection
@@ -203,4 +226,42 @@ public static class NotGoodDataFetcher implements DataFetcher<List<Obj>> {
         //Assert
         assertEquals(data.get("objs").get("pageInfo").get("hasNextPage"), true);
     }
+
+    @Test
+    public void queryForNodesOnly_cursorsAreNotComputed() throws Exception {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query("{ countedObjs { edges { node { id } } } }").build());
+        Map<String, Map<String, List<Map<String, Map<String, Object>>>>> data = result.getData();
+
+        assertEquals(data.get("countedObjs").get("edges").size(), 3);
+        assertEquals(data.get("countedObjs").get("edges").get(2).get("node").get("id"), "3");
+        assertEquals(CountingConnectionDataFetcher.cursors.get(), 0);
+    }
+
+    @Test
+    public void queryForPageInfoOnly_edgesAndCursorsAreNotBuilt() throws Exception {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query("{ countedObjs { pageInfo { hasNextPage } } }").build());
+        Map<String, Map<String, Map<String, Object>>> data = result.getData();
+
+        assertEquals(data.get("countedObjs").get("pageInfo").get("hasNextPage"), true);
+        assertEquals(CountingConnectionDataFetcher.cursors.get(), 0);
+    }
+
+    @Test
+    public void queryForPageInfoCursors_onlyFirstAndLastCursorsAreComputed() throws Exception {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query("{ countedObjs { pageInfo { startCursor endCursor } } }").build());
+        Map<String, Map<String, Map<String, Object>>> data = result.getData();
+
+        assertEquals(data.get("countedObjs").get("pageInfo").get("startCursor"), "1");
+        assertEquals(data.get("countedObjs").get("pageInfo").get("endCursor"), "3");
+        assertEquals(CountingConnectionDataFetcher.cursors.get(), 2);
+    }
+
+    @Test
+    public void queryForEdgeAndPageInfoCursors_eachCursorIsComputedOnce() throws Exception {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query("{ countedObjs { edges { cursor } pageInfo { startCursor endCursor } } }").build());
+        Map<String, Map<String, Map<String, Object>>> data = result.getData();
+
+        assertEquals(data.get("countedObjs").get("pageInfo").get("endCursor"), "3");
+        assertEquals(CountingConnectionDataFetcher.cursors.get(), 3);
+    }
 }
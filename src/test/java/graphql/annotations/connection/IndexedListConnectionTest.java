@@ -0,0 +1,172 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import graphql.annotations.dataFetchers.connection.DispatchingConnection;
+import graphql.annotations.dataFetchers.connection.IndexedListConnection;
+import graphql.annotations.dataFetchers.connection.ListConnection;
+import graphql.relay.Connection;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import org.testng.annotations.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class IndexedListConnectionTest {
+    private static final int SIZE = 10_000;
+
+    private static class CountingList extends AbstractList<Integer> implements RandomAccess {
+        private final int size;
+        private final AtomicInteger gets = new AtomicInteger();
+
+        CountingList(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            gets.incrementAndGet();
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static DataFetchingEnvironment environment(Object... arguments) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < arguments.length; i += 2) {
+            map.put((String) arguments[i], arguments[i + 1]);
+        }
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment().arguments(map).build();
+    }
+
+    private static <T> List<T> nodes(Object connection) {
+        return ((Connection<T>) connection).getEdges().stream().map(Edge::getNode).collect(Collectors.toList());
+    }
+
+    private static String endCursor(Object connection) {
+        return ((Connection<?>) connection).getPageInfo().getEndCursor().getValue();
+    }
+
+    @Test
+    public void pages_sameAsListConnection() throws Exception {
+        List<Integer> data = new ArrayList<>(new CountingList(50));
+        ListConnection<Integer> listConnection = new ListConnection<>(data);
+        IndexedListConnection<Integer> indexedConnection = new IndexedListConnection<>(data);
+        String cursor = endCursor(listConnection.get(environment("first", 10)));
+
+        DataFetchingEnvironment[] environments = {
+                environment(),
+                environment("first", 10),
+                environment("first", 100),
+                environment("last", 7),
+                environment("first", 0),
+                environment("first", 5, "after", cursor),
+                environment("last", 5, "before", cursor),
+                environment("first", 5, "last", 2, "after", cursor),
+                environment("after", cursor, "before", cursor),
+        };
+        for (DataFetchingEnvironment environment : environments) {
+            Connection<Integer> expected = listConnection.get(environment);
+            Connection<Integer> actual = (Connection<Integer>) indexedConnection.get(environment);
+            assertEquals(nodes(actual), nodes(expected), environment.getArguments().toString());
+            assertEquals(actual.getEdges().stream().map(edge -> edge.getCursor().getValue()).collect(Collectors.toList()),
+                    expected.getEdges().stream().map(edge -> edge.getCursor().getValue()).collect(Collectors.toList()));
+            assertEquals(actual.getPageInfo().isHasNextPage(), expected.getPageInfo().isHasNextPage());
+            assertEquals(actual.getPageInfo().isHasPreviousPage(), expected.getPageInfo().isHasPreviousPage());
+        }
+    }
+
+    @Test
+    public void deepPage_onlyEntitiesOfThePageAreRead() throws Exception {
+        CountingList data = new CountingList(SIZE);
+        IndexedListConnection<Integer> connection = new IndexedListConnection<>(data);
+        String cursor = endCursor(connection.get(environment("first", SIZE - 10)));
+        data.gets.set(0);
+
+        Object page = connection.get(environment("first", 5, "after", cursor));
+
+        assertEquals(nodes(page), List.of(SIZE - 10, SIZE - 9, SIZE - 8, SIZE - 7, SIZE - 6));
+        assertTrue(((Connection<?>) page).getPageInfo().isHasNextPage());
+        assertTrue(((Connection<?>) page).getPageInfo().isHasPreviousPage());
+        assertEquals(data.gets.get(), 5);
+    }
+
+    @Test
+    public void orderedByIndex_pagesInKeyOrder() throws Exception {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            data.add((i * 7) % 20);
+        }
+        IndexedListConnection<Integer> connection = IndexedListConnection.snapshot(data)
+                .withIndex("value", value -> new Object[]{value})
+                .orderedBy("value");
+
+        Object firstPage = connection.get(environment("first", 3));
+        assertEquals(nodes(firstPage), List.of(0, 1, 2));
+        Object secondPage = connection.get(environment("first", 3, "after", endCursor(firstPage)));
+        assertEquals(nodes(secondPage), List.of(3, 4, 5));
+        Object lastPage = connection.get(environment("last", 2, "before", endCursor(firstPage)));
+        assertEquals(nodes(lastPage), List.of(0, 1));
+        assertFalse(((Connection<?>) lastPage).getPageInfo().isHasPreviousPage());
+    }
+
+    @Test
+    public void orderedByIndex_cursorsSurviveANewSnapshot() throws Exception {
+        List<Integer> data = new ArrayList<>(List.of(10, 20, 30, 40));
+        IndexedListConnection<Integer> connection = IndexedListConnection.snapshot(data)
+                .withIndex("value", value -> new Object[]{value})
+                .orderedBy("value");
+        String cursor = endCursor(connection.get(environment("first", 2)));
+
+        data.add(0, 15);
+        data.remove(Integer.valueOf(20));
+        IndexedListConnection<Integer> refreshed = IndexedListConnection.snapshot(data)
+                .withIndex("value", value -> new Object[]{value})
+                .orderedBy("value");
+
+        assertEquals(nodes(refreshed.get(environment("first", 2, "after", cursor))), List.of(30, 40));
+        assertEquals(nodes(connection.get(environment("first", 2, "after", cursor))), List.of(30, 40));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void orderedByUnknownIndex_throws() {
+        IndexedListConnection.snapshot(List.of(1, 2)).orderedBy("missing");
+    }
+
+    @Test
+    public void dispatchingConnection_largeRandomAccessList_isIndexed() throws Exception {
+        CountingList large = new CountingList(DispatchingConnection.INDEXED_LIST_THRESHOLD);
+        Object page = new DispatchingConnection(large).get(environment("first", 3));
+        assertEquals(nodes(page), List.of(0, 1, 2));
+        assertEquals(large.gets.get(), 3);
+
+        CountingList small = new CountingList(10);
+        new DispatchingConnection(small).get(environment("first", 3));
+        assertTrue(small.gets.get() >= 10);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import graphql.relay.DefaultConnectionCursor;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.testng.Assert.*;
+
+public class LazyCursorEdgeTest {
+
+    @Test
+    public void equals_sameNodeAndFunction_equalWithoutComputingCursor() {
+        AtomicInteger computed = new AtomicInteger();
+        Function<String, String> cursorFunction = node -> {
+            computed.incrementAndGet();
+            return node;
+        };
+        String node = "a";
+
+        assertEquals(new LazyCursorEdge<>(node, cursorFunction), new LazyCursorEdge<>(node, cursorFunction));
+        assertEquals(new LazyCursorEdge<>(node, cursorFunction).hashCode(), new LazyCursorEdge<>(node, cursorFunction).hashCode());
+        assertEquals(computed.get(), 0);
+    }
+
+    @Test
+    public void equals_differentNodesWithSameCursor_notEqual() {
+        Function<String, String> cursorFunction = node -> "cursor";
+
+        assertNotEquals(new LazyCursorEdge<>(new String("a"), cursorFunction), new LazyCursorEdge<>(new String("a"), cursorFunction));
+    }
+
+    @Test
+    public void equals_otherCursorWithSameValue_notEqualInEitherDirection() {
+        LazyCursorEdge<String> edge = new LazyCursorEdge<>("a", node -> node);
+        DefaultConnectionCursor cursor = new DefaultConnectionCursor("a");
+
+        assertFalse(edge.equals(cursor));
+        assertFalse(cursor.equals(edge));
+        assertEquals(edge.getValue(), cursor.getValue());
+    }
+}
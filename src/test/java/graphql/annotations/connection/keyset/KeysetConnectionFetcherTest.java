@@ -0,0 +1,199 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection.keyset;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.exceptions.GraphQLConnectionException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class KeysetConnectionFetcherTest {
+    private static final int SIZE = 10_000;
+    private static final List<Integer> fetchLimits = new ArrayList<>();
+
+    @GraphQLName("KeysetItem")
+    public static class Item {
+        @GraphQLField
+        public int rank;
+        @GraphQLField
+        public String id;
+
+        public Item(int rank, String id) {
+            this.rank = rank;
+            this.id = id;
+        }
+    }
+
+    private static final KeysetSource<Item> SOURCE = createSource();
+
+    private static KeysetSource<Item> createSource() {
+        List<Item> items = new ArrayList<>();
+        for (int i = SIZE - 1; i >= 0; i--) {
+            items.add(new Item(i / 2, "item" + i));
+        }
+        InMemoryKeysetSource<Item> inMemory = new InMemoryKeysetSource<>(items, item -> new Object[]{item.rank, item.id});
+        return new KeysetSource<Item>() {
+            @Override
+            public Object[] getKey(Item entity) {
+                return inMemory.getKey(entity);
+            }
+
+            @Override
+            public List<Item> fetchAfter(Object[] key, int limit) {
+                fetchLimits.add(limit);
+                return inMemory.fetchAfter(key, limit);
+            }
+
+            @Override
+            public List<Item> fetchBefore(Object[] key, int limit) {
+                fetchLimits.add(limit);
+                return inMemory.fetchBefore(key, limit);
+            }
+        };
+    }
+
+    @GraphQLName("KeysetQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = KeysetConnectionFetcher.class, validator = KeysetSourceConnectionTypeValidator.class)
+        public KeysetSource<Item> items() {
+            return SOURCE;
+        }
+    }
+
+    private GraphQL graphQL;
+
+    @BeforeMethod
+    public void init() {
+        graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        fetchLimits.clear();
+    }
+
+    private Map<String, Object> page(String arguments) {
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ items" + arguments
+                + " { edges { cursor node { id } } pageInfo { startCursor endCursor hasPreviousPage hasNextPage } } }", new Query()));
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return (Map<String, Object>) result.<Map<String, Object>>getData().get("items");
+    }
+
+    private static List<String> ids(Map<String, Object> page) {
+        return ((List<Map<String, Map<String, Object>>>) page.get("edges")).stream()
+                .map(edge -> (String) edge.get("node").get("id")).collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> pageInfo(Map<String, Object> page) {
+        return (Map<String, Object>) page.get("pageInfo");
+    }
+
+    @Test
+    public void pagingForward_followsTheKeyOrder() {
+        Map<String, Object> first = page("(first: 3)");
+        assertEquals(ids(first), List.of("item0", "item1", "item2"));
+        assertEquals(pageInfo(first).get("hasPreviousPage"), false);
+        assertEquals(pageInfo(first).get("hasNextPage"), true);
+
+        Map<String, Object> second = page("(first: 3, after: \"" + pageInfo(first).get("endCursor") + "\")");
+        assertEquals(ids(second), List.of("item3", "item4", "item5"));
+        assertEquals(pageInfo(second).get("hasPreviousPage"), true);
+        assertEquals(pageInfo(second).get("hasNextPage"), true);
+        assertEquals(fetchLimits, List.of(4, 4));
+    }
+
+    @Test
+    public void pagingBackward_fromTheEnd() {
+        Map<String, Object> last = page("(last: 2)");
+        assertEquals(ids(last), List.of("item" + (SIZE - 2), "item" + (SIZE - 1)));
+        assertEquals(pageInfo(last).get("hasPreviousPage"), true);
+        assertEquals(pageInfo(last).get("hasNextPage"), false);
+
+        Map<String, Object> previous = page("(last: 2, before: \"" + pageInfo(last).get("startCursor") + "\")");
+        assertEquals(ids(previous), List.of("item" + (SIZE - 4), "item" + (SIZE - 3)));
+        assertEquals(pageInfo(previous).get("hasNextPage"), true);
+    }
+
+    @Test
+    public void lastPage_hasNoNextPage() {
+        String cursor = KeysetCursor.encode(new Object[]{SIZE / 2 - 2, "item" + (SIZE - 3)});
+        Map<String, Object> page = page("(first: 5, after: \"" + cursor + "\")");
+        assertEquals(ids(page), List.of("item" + (SIZE - 2), "item" + (SIZE - 1)));
+        assertEquals(pageInfo(page).get("hasNextPage"), false);
+    }
+
+    @Test
+    public void deepPage_fetchesOnlyThePage() {
+        String cursor = KeysetCursor.encode(new Object[]{SIZE / 2 - 100, "item" + (SIZE - 199)});
+        Map<String, Object> page = page("(first: 2, after: \"" + cursor + "\")");
+        assertEquals(ids(page), List.of("item" + (SIZE - 198), "item" + (SIZE - 197)));
+        assertEquals(fetchLimits, Collections.singletonList(3));
+    }
+
+    @Test
+    public void cursor_roundTripsKeyTypes() {
+        Object[] key = {1, 2L, "a:b", null, true, new BigDecimal("1.50"), UUID.randomUUID(), Instant.ofEpochSecond(5), 0.5};
+        assertEquals(KeysetCursor.decode(KeysetCursor.encode(key)), key);
+    }
+
+    @Test
+    public void invalidCursor_throwsExceptionWithCause() {
+        GraphQLConnectionException exception = expectThrows(GraphQLConnectionException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertNotNull(exception.getCause());
+    }
+
+    @Test
+    public void forwardAndBackwardArguments_rejected() {
+        String cursor = KeysetCursor.encode(new Object[]{1, "item2"});
+        for (String arguments : List.of("(first: 2, last: 2)", "(first: 2, before: \"" + cursor + "\")", "(last: 2, after: \"" + cursor + "\")")) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ items" + arguments + " { edges { cursor } } }", new Query()));
+            assertEquals(result.getErrors().size(), 1, arguments);
+            assertTrue(result.getErrors().get(0).getMessage().contains("cannot be combined"), arguments);
+        }
+    }
+
+    @Test
+    public void cursorOfOtherKeyTypes_rejected() {
+        String cursor = KeysetCursor.encode(new Object[]{"one", "item2"});
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ items(first: 2, after: \"" + cursor + "\") { edges { cursor } } }", new Query()));
+        assertEquals(result.getErrors().size(), 1);
+
+        InMemoryKeysetSource<Integer> source = new InMemoryKeysetSource<>(List.of(1, 2), value -> new Object[]{value});
+        expectThrows(GraphQLConnectionException.class, () -> source.fetchAfter(new Object[]{"1"}, 1));
+        expectThrows(GraphQLConnectionException.class, () -> source.fetchBefore(new Object[]{1, 2}, 1));
+    }
+
+    @Test
+    public void inMemorySource_fetchesAroundMissingKeys() {
+        InMemoryKeysetSource<Integer> source = new InMemoryKeysetSource<>(List.of(50, 10, 40, 20, 30), value -> new Object[]{value});
+        assertEquals(source.fetchAfter(new Object[]{25}, 2), List.of(30, 40));
+        assertEquals(source.fetchBefore(new Object[]{25}, 5), List.of(10, 20));
+        assertEquals(source.fetchAfter(null, 10), List.of(10, 20, 30, 40, 50));
+        assertEquals(source.fetchBefore(null, 1), List.of(50));
+    }
+}
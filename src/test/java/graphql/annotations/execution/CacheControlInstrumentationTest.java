@@ -0,0 +1,127 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLCacheControl;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class CacheControlInstrumentationTest {
+
+    @GraphQLName("CacheReview")
+    public static class Review {
+        @GraphQLField
+        public String text = "text";
+    }
+
+    @GraphQLName("CacheProduct")
+    @GraphQLCacheControl(maxAge = 300)
+    public static class Product {
+        @GraphQLField
+        public String name = "name";
+
+        @GraphQLField
+        @GraphQLCacheControl(maxAge = 60)
+        public int stock = 3;
+
+        @GraphQLField
+        public Review review() {
+            return new Review();
+        }
+    }
+
+    @GraphQLName("CacheQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLCacheControl(maxAge = 120)
+        public Product product() {
+            return new Product();
+        }
+
+        @GraphQLField
+        @GraphQLCacheControl(maxAge = 30, scope = CacheScope.PRIVATE)
+        public String me() {
+            return "me";
+        }
+
+        @GraphQLField
+        public String uncached() {
+            return "uncached";
+        }
+
+        @GraphQLField
+        @GraphQLCacheControl(maxAge = 600)
+        public String failing() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    private GraphQL graphQL;
+
+    @BeforeClass
+    public void init() {
+        graphQL = newAnnotationsSchema().query(Query.class).setCacheControl(true).buildGraphQL();
+    }
+
+    private CachePolicy execute(String query) {
+        return CachePolicy.of(graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query())));
+    }
+
+    @Test
+    public void fieldHint_overridesTypeHint() {
+        CachePolicy policy = execute("{product {name}}");
+        assertEquals(policy.getMaxAge(), 120);
+        assertEquals(policy.getScope(), CacheScope.PUBLIC);
+        assertEquals(policy.toHeaderValue(), "public, max-age=120");
+    }
+
+    @Test
+    public void minimalMaxAgeOfAllFields() {
+        assertEquals(execute("{product {name stock}}").getMaxAge(), 60);
+    }
+
+    @Test
+    public void privateField_makesResponsePrivate() {
+        CachePolicy policy = execute("{product {name} me}");
+        assertEquals(policy.getMaxAge(), 30);
+        assertEquals(policy.getScope(), CacheScope.PRIVATE);
+        assertEquals(policy.toHeaderValue(), "private, max-age=30");
+    }
+
+    @Test
+    public void fieldsWithoutHint_getDefaultMaxAge() {
+        assertEquals(execute("{uncached}").getMaxAge(), CacheControlInstrumentation.DEFAULT_MAX_AGE);
+        assertEquals(execute("{product {review {text}}}").getMaxAge(), CacheControlInstrumentation.DEFAULT_MAX_AGE);
+        assertEquals(execute("{uncached}").toHeaderValue(), "no-store");
+    }
+
+    @Test
+    public void responseWithErrors_isNotCacheable() {
+        assertEquals(execute("{product {name} failing}").getMaxAge(), 0);
+    }
+
+    @Test
+    public void withoutCacheControl_noExtension() {
+        GraphQL plain = newAnnotationsSchema().query(Query.class).buildGraphQL();
+        ExecutionResult result = plain.execute(GraphQLHelper.createExecutionInput("{product {name}}", new Query()));
+        assertNull(CachePolicy.of(result));
+    }
+}
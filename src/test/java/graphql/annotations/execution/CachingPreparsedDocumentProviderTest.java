@@ -0,0 +1,98 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.testng.Assert.*;
+
+public class CachingPreparsedDocumentProviderTest {
+
+    private static final AtomicInteger parseCount = new AtomicInteger();
+
+    private static final Function<ExecutionInput, PreparsedDocumentEntry> PARSE = executionInput -> {
+        parseCount.incrementAndGet();
+        Document document = Parser.parse(executionInput.getQuery());
+        return new PreparsedDocumentEntry(document);
+    };
+
+    private static ExecutionInput input(String query, String operationName) {
+        return ExecutionInput.newExecutionInput().query(query).operationName(operationName).build();
+    }
+
+    private static PreparsedDocumentEntry get(CachingPreparsedDocumentProvider provider, String query, String operationName) {
+        return provider.getDocumentAsync(input(query, operationName), PARSE).join();
+    }
+
+    @Test
+    public void getDocument_sameQueryAndOperation_parsedOnce() {
+        CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10);
+        parseCount.set(0);
+
+        PreparsedDocumentEntry first = get(provider, "query A {a} query B {b}", "A");
+        PreparsedDocumentEntry second = get(provider, "query A {a} query B {b}", "A");
+        get(provider, "query A {a} query B {b}", "B");
+
+        assertSame(first, second);
+        assertEquals(parseCount.get(), 2);
+        assertEquals(provider.getHitCount(), 1);
+        assertEquals(provider.getMissCount(), 2);
+        assertEquals(provider.getSize(), 2);
+    }
+
+    @Test
+    public void getDocument_cacheIsFull_unusedDocumentsAreEvictedFirst() {
+        CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(2);
+        parseCount.set(0);
+
+        get(provider, "{a}", null);
+        get(provider, "{b}", null);
+        get(provider, "{a}", null);
+        get(provider, "{c}", null);
+
+        assertEquals(provider.getSize(), 2);
+        assertEquals(provider.getEvictionCount(), 1);
+
+        get(provider, "{a}", null);
+        get(provider, "{c}", null);
+        assertEquals(parseCount.get(), 3);
+
+        get(provider, "{b}", null);
+        assertEquals(parseCount.get(), 4);
+    }
+
+    @Test
+    public void invalidateAll_documentIsParsedAgain() {
+        CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(2);
+        parseCount.set(0);
+
+        get(provider, "{a}", null);
+        provider.invalidateAll();
+        get(provider, "{a}", null);
+
+        assertEquals(parseCount.get(), 2);
+        assertEquals(provider.getSize(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void constructor_nonPositiveSize_throwsException() {
+        new CachingPreparsedDocumentProvider(0);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class NPlusOneInstrumentationTest {
+
+    public static class BatchedDataFetcher implements DataFetcher<CompletableFuture<Integer>> {
+        @Override
+        public CompletableFuture<Integer> get(DataFetchingEnvironment environment) {
+            User user = environment.getSource();
+            return environment.<String, Integer>getDataLoader(FRIENDS_COUNT_LOADER).load(user.name);
+        }
+    }
+
+    public static class AsyncDataFetcher implements DataFetcher<CompletableFuture<Integer>> {
+        @Override
+        public CompletableFuture<Integer> get(DataFetchingEnvironment environment) {
+            // completes later, but each call still goes to the backend on its own
+            return CompletableFuture.supplyAsync(() -> 1, CompletableFuture.delayedExecutor(10, MILLISECONDS));
+        }
+    }
+
+    private static final String FRIENDS_COUNT_LOADER = "friendsCount";
+
+    @GraphQLName("NPlusOneUser")
+    public static class User {
+        @GraphQLField
+        public String name;
+
+        public User(String name) {
+            this.name = name;
+        }
+
+        @GraphQLField
+        public List<String> posts() {
+            return Arrays.asList(name + " post");
+        }
+
+        @GraphQLField
+        @GraphQLDataFetcher(BatchedDataFetcher.class)
+        public Integer friendsCount() {
+            return null;
+        }
+
+        @GraphQLField
+        @GraphQLDataFetcher(AsyncDataFetcher.class)
+        public Integer postsCount() {
+            return null;
+        }
+    }
+
+    @GraphQLName("NPlusOneQuery")
+    public static class Query {
+        @GraphQLField
+        public List<User> users() {
+            return Arrays.asList(new User("a"), new User("b"), new User("c"));
+        }
+
+        @GraphQLField
+        public User user() {
+            return new User("a");
+        }
+    }
+
+    private static ExecutionInput withDataLoader(String query) {
+        BatchLoader<String, Integer> batchLoader = keys -> CompletableFuture.completedFuture(keys.stream().map(String::length).collect(Collectors.toList()));
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(FRIENDS_COUNT_LOADER, DataLoaderFactory.newDataLoader(batchLoader));
+        return ExecutionInput.newExecutionInput(query).root(new Query()).dataLoaderRegistry(registry).build();
+    }
+
+    @Test
+    public void fieldFetchedPerListElement_isReportedInExtensions() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setNPlusOneDetection(true).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(withDataLoader("{users { posts friendsCount } user { posts }}"));
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, Object>> reports = (List<Map<String, Object>>) result.getExtensions().get(NPlusOneInstrumentation.EXTENSION_KEY);
+        assertEquals(reports.size(), 1);
+        assertEquals(reports.get(0).get("field"), "NPlusOneUser.posts");
+        assertEquals(reports.get(0).get("fetcher"), User.class.getName() + ".posts");
+        assertEquals(reports.get(0).get("invocations"), 3L);
+        assertEquals(reports.get(0).get("lists"), 1);
+        assertEquals(reports.get(0).get("async"), 0L);
+    }
+
+    @Test
+    public void asyncFetchesWithoutDataLoader_areReportedAsAsync() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setNPlusOneDetection(true).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(withDataLoader("{users { postsCount friendsCount }}"));
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, Object>> reports = (List<Map<String, Object>>) result.getExtensions().get(NPlusOneInstrumentation.EXTENSION_KEY);
+        assertEquals(reports.size(), 1);
+        assertEquals(reports.get(0).get("field"), "NPlusOneUser.postsCount");
+        assertEquals(reports.get(0).get("fetcher"), AsyncDataFetcher.class.getName());
+        assertEquals(reports.get(0).get("async"), 3L);
+    }
+
+    @Test
+    public void swappableDataFetchers_reportNamesTheMethod() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setNPlusOneDetection(true).setSwappableDataFetchers(true).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{users { posts }}", new Query()));
+
+        List<Map<String, Object>> reports = (List<Map<String, Object>>) result.getExtensions().get(NPlusOneInstrumentation.EXTENSION_KEY);
+        assertEquals(reports.size(), 1);
+        assertEquals(reports.get(0).get("fetcher"), User.class.getName() + ".posts");
+    }
+
+    @Test
+    public void fieldsNotFetchedInLists_areNotReported() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setNPlusOneDetection(true).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{user { name posts }}", new Query()));
+
+        assertNull(result.getExtensions());
+    }
+
+    @Test
+    public void sampledRequests_areReportedToListener() {
+        List<NPlusOneReport> reported = new ArrayList<>();
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build())
+                .instrumentation(new NPlusOneInstrumentation((input, reports) -> reported.addAll(reports), 1)).build();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{users { posts }}", new Query()));
+
+        assertNull(result.getExtensions());
+        assertEquals(reported.size(), 1);
+        assertEquals(reported.get(0).getFieldCoordinates().getFieldName(), "posts");
+
+        reported.clear();
+        graphQL = graphQL.transform(builder -> builder.instrumentation(new NPlusOneInstrumentation((input, reports) -> reported.addAll(reports), 0)));
+        graphQL.execute(GraphQLHelper.createExecutionInput("{users { posts }}", new Query()));
+        assertTrue(reported.isEmpty());
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.AnnotationsSchemaCreator;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLCost;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.connection.AbstractPaginatedData;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.PaginatedData;
+import graphql.schema.FieldCoordinates;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class QueryCostInstrumentationTest {
+
+    public static class Item {
+        @GraphQLField
+        public String id;
+
+        public Item(String id) {
+            this.id = id;
+        }
+
+        @GraphQLField
+        @GraphQLCost(5)
+        public String details() {
+            return "details of " + id;
+        }
+    }
+
+    @GraphQLName("CostQuery")
+    public static class Query {
+        @GraphQLField
+        @GraphQLConnection
+        @GraphQLCost(2)
+        public PaginatedData<Item> items() {
+            return new AbstractPaginatedData<Item>(false, false, Arrays.asList(new Item("1"), new Item("2"))) {
+                @Override
+                public String getCursor(Item entity) {
+                    return entity.id;
+                }
+            };
+        }
+
+        @GraphQLField
+        @GraphQLCost(150)
+        public String report() {
+            return "report";
+        }
+
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+
+        @GraphQLField
+        public Query self() {
+            return this;
+        }
+    }
+
+    // items: 2 + first * (edges: 1 + node: (1 + id: 1 + details: 5))
+    private static final String ITEMS_QUERY = "query ($n: Int) { items(first: $n) { edges { node { id details } } } }";
+
+    @Test
+    public void fieldCosts_recordedAtSchemaBuild() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        builder.build();
+
+        Map<FieldCoordinates, FieldCost> fieldCosts = builder.getGraphQLAnnotations().getContainer().getFieldCosts();
+        assertEquals(fieldCosts.get(FieldCoordinates.coordinates("CostQuery", "items")).getCost(), 2);
+        assertTrue(fieldCosts.get(FieldCoordinates.coordinates("CostQuery", "items")).isConnection());
+        assertEquals(fieldCosts.get(FieldCoordinates.coordinates("CostQuery", "report")).getCost(), 150);
+        assertFalse(fieldCosts.get(FieldCoordinates.coordinates("CostQuery", "report")).isConnection());
+        assertNull(fieldCosts.get(FieldCoordinates.coordinates("CostQuery", "name")));
+    }
+
+    @Test
+    public void queryWithinBudget_isExecuted() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setMaximumQueryCost(100).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(ITEMS_QUERY, new Query(), Collections.singletonMap("n", 10)));
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        assertNotNull(result.<Map<String, Object>>getData().get("items"));
+    }
+
+    @Test
+    public void queryOverBudget_isRejected() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setMaximumQueryCost(100).buildGraphQL();
+
+        ExecutionResult overPageSize = graphQL.execute(GraphQLHelper.createExecutionInput(ITEMS_QUERY, new Query(), Collections.singletonMap("n", 20)));
+        assertNull(overPageSize.getData());
+        assertEquals(overPageSize.getErrors().size(), 1);
+        assertTrue(overPageSize.getErrors().get(0) instanceof QueryCostExceededException);
+        assertEquals(((QueryCostExceededException) overPageSize.getErrors().get(0)).getCost(), 162);
+
+        ExecutionResult defaultPageSize = graphQL.execute(GraphQLHelper.createExecutionInput("{ items { edges { node { id } } } }", new Query()));
+        assertEquals(((QueryCostExceededException) defaultPageSize.getErrors().get(0)).getCost(), 2 + QueryCostInstrumentation.DEFAULT_PAGE_SIZE * 3);
+
+        ExecutionResult expensiveField = graphQL.execute(GraphQLHelper.createExecutionInput("{ name report }", new Query()));
+        assertEquals(((QueryCostExceededException) expensiveField.getErrors().get(0)).getCost(), 151);
+    }
+
+    @Test
+    public void analysis_cachedPerPreparsedDocument() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQL graphQL = builder.buildGraphQL();
+        QueryCostInstrumentation instrumentation = new QueryCostInstrumentation(builder.getGraphQLAnnotations().getContainer().getFieldCosts(), 100);
+        graphQL = graphQL.transform(graphQLBuilder -> graphQLBuilder.instrumentation(instrumentation));
+
+        for (int n = 1; n <= 12; n++) {
+            ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(ITEMS_QUERY, new Query(), Collections.singletonMap("n", n)));
+            assertEquals(result.getErrors().isEmpty(), 2 + n * 8 <= 100);
+        }
+        assertEquals(instrumentation.getCacheSize(), 1);
+        assertEquals(builder.getDocumentCache().getMissCount(), 1);
+    }
+
+    @Test(timeOut = 10_000)
+    public void fragmentFanOut_analyzedInLinearTime() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setMaximumQueryCost(1000).buildGraphQL();
+        int depth = 40;
+        StringBuilder query = new StringBuilder("{ ...F0 }");
+        for (int i = 0; i < depth; i++) {
+            query.append(" fragment F").append(i).append(" on CostQuery { a: self { ...F").append(i + 1)
+                    .append(" } b: self { ...F").append(i + 1).append(" } }");
+        }
+        query.append(" fragment F").append(depth).append(" on CostQuery { name }");
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput(query.toString(), new Query()));
+
+        assertNull(result.getData());
+        assertEquals(result.getErrors().size(), 1);
+        assertTrue(result.getErrors().get(0) instanceof QueryCostExceededException);
+        // cost(F40) = 1, cost(Fi) = 2 * (1 + cost(Fi+1))
+        long expectedCost = 1;
+        for (int i = 0; i < depth; i++) {
+            expectedCost = 2 * (1 + expectedCost);
+        }
+        assertEquals(((QueryCostExceededException) result.getErrors().get(0)).getCost(), expectedCost);
+    }
+
+    @Test
+    public void moreFieldsThanBudget_rejectedWhileCompiled() {
+        GraphQL graphQL = newAnnotationsSchema().query(Query.class).setMaximumQueryCost(3).buildGraphQL();
+
+        ExecutionResult result = graphQL.execute(GraphQLHelper.createExecutionInput("{ a: name b: name c: name d: name e: name }", new Query()));
+
+        assertEquals(result.getErrors().size(), 1);
+        assertTrue(result.getErrors().get(0) instanceof QueryCostExceededException);
+        assertEquals(((QueryCostExceededException) result.getErrors().get(0)).getCost(), 4);
+    }
+}
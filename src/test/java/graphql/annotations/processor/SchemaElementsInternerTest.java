@@ -0,0 +1,169 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.directives.definition.DirectiveLocations;
+import graphql.annotations.annotationTypes.directives.definition.GraphQLDirectiveDefinition;
+import graphql.annotations.connection.AbstractPaginatedData;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.PaginatedData;
+import graphql.annotations.connection.PaginatedDataConnectionFetcher;
+import graphql.annotations.directives.AnnotationsDirectiveWiring;
+import graphql.annotations.directives.AnnotationsWiringEnvironment;
+import graphql.annotations.processor.util.CodeRegistryUtil;
+import graphql.introspection.Introspection;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class SchemaElementsInternerTest {
+
+    public static class UpperWiring implements AnnotationsDirectiveWiring {
+        @Override
+        public GraphQLFieldDefinition onField(AnnotationsWiringEnvironment environment) {
+            GraphQLFieldDefinition field = (GraphQLFieldDefinition) environment.getElement();
+            CodeRegistryUtil.wrapDataFetcher(field, environment, (dataFetchingEnvironment, value) -> ((String) value).toUpperCase());
+            return field;
+        }
+    }
+
+    @GraphQLDirectiveDefinition(wiring = UpperWiring.class)
+    @GraphQLName("upper")
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @DirectiveLocations(Introspection.DirectiveLocation.FIELD_DEFINITION)
+    @interface Upper {
+        boolean isActive() default true;
+    }
+
+    public static class Item {
+        @GraphQLField
+        public String id;
+    }
+
+    public static class Query {
+        @GraphQLField
+        @Upper
+        @GraphQLDescription("A name")
+        public String name1() {
+            return "a";
+        }
+
+        @GraphQLField
+        @Upper
+        @GraphQLDescription("A name")
+        public String name2() {
+            return "b";
+        }
+
+        @GraphQLField
+        @Upper(isActive = false)
+        public String name3() {
+            return "c";
+        }
+
+        @GraphQLField
+        public String echo1(@GraphQLName("value") @GraphQLDescription("The value") String value) {
+            return value;
+        }
+
+        @GraphQLField
+        public String echo2(@GraphQLName("value") @GraphQLDescription("The value") String value) {
+            return value;
+        }
+
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = PaginatedDataConnectionFetcher.class)
+        public PaginatedData<Item> items1() {
+            return new AbstractPaginatedData<Item>(false, false, Collections.emptyList()) {
+                @Override
+                public String getCursor(Item entity) {
+                    return entity.id;
+                }
+            };
+        }
+
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = PaginatedDataConnectionFetcher.class)
+        public PaginatedData<Item> items2() {
+            return items1();
+        }
+    }
+
+    @Test
+    public void build_identicalDirectivesArgumentsAndDescriptions_singleInstanceIsRetained() {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        GraphQLSchema schema = newAnnotationsSchema().setAnnotationsProcessor(graphQLAnnotations).query(Query.class).directives(Upper.class).build();
+        GraphQLObjectType query = schema.getQueryType();
+
+        assertSame(query.getFieldDefinition("name1").getDirective("upper"), query.getFieldDefinition("name2").getDirective("upper"));
+        assertNotSame(query.getFieldDefinition("name1").getDirective("upper"), query.getFieldDefinition("name3").getDirective("upper"));
+        assertSame(query.getFieldDefinition("name1").getDescription(), query.getFieldDefinition("name2").getDescription());
+        assertSame(query.getFieldDefinition("echo1").getArgument("value"), query.getFieldDefinition("echo2").getArgument("value"));
+
+        // the retained argument instances of all the fields: 4 connection arguments and 1 echo argument are shared
+        Set<GraphQLArgument> arguments = Collections.newSetFromMap(new IdentityHashMap<>());
+        int argumentsCount = 0;
+        for (GraphQLFieldDefinition field : query.getFieldDefinitions()) {
+            arguments.addAll(field.getArguments());
+            argumentsCount += field.getArguments().size();
+        }
+        assertEquals(argumentsCount, 10);
+        assertEquals(arguments.size(), 5);
+        assertTrue(graphQLAnnotations.getContainer().getInterner().getReusedCount() >= 7);
+    }
+
+    @Test
+    public void build_internerIsClearedAfterBuild() {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        GraphQLSchema schema = newAnnotationsSchema().setAnnotationsProcessor(graphQLAnnotations).query(Query.class).directives(Upper.class).build();
+        String description = new String(schema.getQueryType().getFieldDefinition("name1").getDescription());
+
+        assertSame(graphQLAnnotations.getContainer().getInterner().internDescription(description), description);
+    }
+
+    @Test
+    public void build_sharedDirective_directiveIsWiredOnEveryField() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).directives(Upper.class).build();
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(
+                GraphQLHelper.createExecutionInput("{name1 name2 echo1(value: \"x\") echo2(value: \"y\")}", new Query()));
+
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("name1"), "A");
+        assertEquals(data.get("name2"), "B");
+        assertEquals(data.get("echo1"), "x");
+        assertEquals(data.get("echo2"), "y");
+    }
+}
@@ -15,13 +15,18 @@
 package graphql.annotations.processor.util;
 
 import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.instances.InstanceProvider;
+import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
 import org.testng.annotations.Test;
 
 import java.lang.annotation.Annotation;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 /**
  * @author danieltaub on 07/05/2018.
@@ -58,6 +63,51 @@ public class DataFetcherConstructorTest {
         assertNull(dataFetcher.getArgs());
     }
 
+    @Test
+    public void graphQLDataFetcherWithContainer_sameArgs_instanceIsShared() {
+        ProcessingElementsContainer container = new ProcessingElementsContainer();
+        DataFetcher first = constructor.constructDataFetcher("a", getGraphQLDataFetcher(DataFetcherMock.class, false, "Arg1", "Arg2"), container);
+        DataFetcher second = constructor.constructDataFetcher("b", getGraphQLDataFetcher(DataFetcherMock.class, false, "Arg1", "Arg2"), container);
+        DataFetcher other = constructor.constructDataFetcher("c", getGraphQLDataFetcher(DataFetcherMock.class, false, "Arg1", "Arg3"), container);
+        DataFetcher targetName = constructor.constructDataFetcher("d", getGraphQLDataFetcher(DataFetcherMock.class, true, "Arg1"), container);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(((DataFetcherMock) other).getArgs()[1], "Arg3");
+        assertEquals(((DataFetcherMock) targetName).getArgs()[0], "d");
+    }
+
+    @Test
+    public void graphQLDataFetcherWithInstanceProvider_instanceIsSuppliedByProvider() {
+        ProcessingElementsContainer container = new ProcessingElementsContainer();
+        container.setInstanceProvider(new InstanceProvider() {
+            @Override
+            public <T> T getInstance(Class<T> clazz) {
+                return ReflectionKit.newInstance(clazz);
+            }
+
+            @Override
+            public <T> T getInstance(Class<T> clazz, String[] arguments) {
+                return clazz.cast(new DataFetcherMock("provided", arguments[0]));
+            }
+        });
+        DataFetcherMock dataFetcher = (DataFetcherMock) constructor.constructDataFetcher("a", getGraphQLDataFetcher(DataFetcherMock.class, false, "Arg1"), container);
+
+        assertEquals(dataFetcher.getArgs(), new String[]{"provided", "Arg1"});
+    }
+
+    @Test(expectedExceptions = DataFetcherConstructor.NoArgsConstructorException.class)
+    public void graphQLDataFetcherWithoutFittingCtor_throwsException() {
+        constructor.constructDataFetcher(null, getGraphQLDataFetcher(NoArgsDataFetcher.class, false, "Arg1"));
+    }
+
+    public static class NoArgsDataFetcher implements DataFetcher {
+        @Override
+        public Object get(DataFetchingEnvironment environment) {
+            return null;
+        }
+    }
+
     private GraphQLDataFetcher getGraphQLDataFetcher(final Class<? extends DataFetcher> value,
                                                      boolean argsInTarget, String... args) {
         GraphQLDataFetcher annotation = new GraphQLDataFetcher() {
@@ -0,0 +1,262 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.tracing;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.GraphQLHelper;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class TracingTest {
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @GraphQLName("TracingBook")
+    public static class Book {
+        private final String title;
+
+        public Book(String title) {
+            this.title = title;
+        }
+
+        @GraphQLField
+        public String title() {
+            return title;
+        }
+    }
+
+    @GraphQLName("TracingAuthor")
+    public static class Author {
+        private final String name;
+
+        public Author(String name) {
+            this.name = name;
+        }
+
+        @GraphQLField
+        public String name() {
+            return name;
+        }
+
+        @GraphQLField
+        public String slowName() {
+            sleep(30);
+            return name;
+        }
+
+        @GraphQLField
+        public List<Book> books() {
+            return Arrays.asList(new Book(name + " 1"), new Book(name + " 2"));
+        }
+    }
+
+    @GraphQLName("TracingWrapper")
+    public static class Wrapper {
+        @GraphQLField
+        public Author slow() {
+            sleep(30);
+            return new Author("slow");
+        }
+    }
+
+    public static class AsyncAuthorDataFetcher implements DataFetcher<CompletableFuture<Author>> {
+        @Override
+        public CompletableFuture<Author> get(DataFetchingEnvironment environment) {
+            return CompletableFuture.supplyAsync(() -> {
+                sleep(20);
+                return new Author("async");
+            });
+        }
+    }
+
+    @GraphQLName("TracingQuery")
+    public static class Query {
+        @GraphQLField
+        public String greeting(@GraphQLName("name") String name) {
+            return "hello " + name;
+        }
+
+        @GraphQLField
+        public List<Author> authors() {
+            return Arrays.asList(new Author("a"), new Author("b"), new Author("c"));
+        }
+
+        @GraphQLField
+        @GraphQLDataFetcher(AsyncAuthorDataFetcher.class)
+        public Author asyncAuthor() {
+            return null;
+        }
+
+        @GraphQLField
+        public String fails() {
+            throw new IllegalStateException("failed");
+        }
+
+        @GraphQLField
+        public Wrapper wrapper() {
+            return new Wrapper();
+        }
+    }
+
+    private static ExecutionResult execute(Tracing tracing, String query) {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).setTracing(tracing).build()).build();
+        return graphQL.execute(GraphQLHelper.createExecutionInput(query, new Query()));
+    }
+
+    private static FieldSpan findParent(List<FieldSpan> spans, FieldSpan child) {
+        return spans.stream().filter(span -> span.getSpanId() == child.getParentSpanId()).findFirst().orElse(null);
+    }
+
+    @Test
+    public void methodField_spanHasAttributes() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder), "{greeting(name: \"you\")}");
+        assertTrue(result.getErrors().isEmpty());
+
+        List<FieldSpan> spans = recorder.getSpans();
+        assertEquals(spans.size(), 1);
+        FieldSpan span = spans.get(0);
+        assertEquals(span.getName(), "TracingQuery.greeting");
+        assertEquals(span.getPath(), "/greeting");
+        assertEquals(span.getParentSpanId(), 0);
+        assertEquals(span.getAttributes().get(FieldSpan.JAVA_CLASS), Query.class.getName());
+        assertEquals(span.getAttributes().get(FieldSpan.JAVA_METHOD), "greeting");
+        assertEquals(span.getAttributes().get(FieldSpan.ARGUMENT_COUNT), 1);
+        assertNull(span.getError());
+    }
+
+    @Test
+    public void nestedLists_childSpansFollowThePath() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder), "{authors {books {title}}}");
+        assertTrue(result.getErrors().isEmpty());
+
+        List<FieldSpan> spans = recorder.getSpans();
+        assertEquals(spans.size(), 1 + 3 + 6);
+        assertEquals(spans.stream().map(FieldSpan::getTraceId).distinct().count(), 1);
+
+        FieldSpan authors = recorder.getSpans("TracingQuery.authors").get(0);
+        assertEquals(authors.getAttributes().get(FieldSpan.LIST_SIZE), 3);
+        assertFalse(authors.getAttributes().containsKey(FieldSpan.BATCH_SIZE));
+
+        List<FieldSpan> books = recorder.getSpans("TracingAuthor.books");
+        assertEquals(books.size(), 3);
+        for (FieldSpan book : books) {
+            assertEquals(book.getParentSpanId(), authors.getSpanId());
+            assertEquals(book.getAttributes().get(FieldSpan.LIST_SIZE), 2);
+            assertEquals(book.getAttributes().get(FieldSpan.BATCH_SIZE), 3);
+        }
+
+        List<FieldSpan> titles = recorder.getSpans("TracingBook.title");
+        assertEquals(titles.size(), 6);
+        for (FieldSpan title : titles) {
+            FieldSpan parent = findParent(spans, title);
+            assertNotNull(parent);
+            assertEquals(parent.getName(), "TracingAuthor.books");
+            assertTrue(title.getPath().startsWith(parent.getPath() + "["));
+            assertEquals(title.getAttributes().get(FieldSpan.BATCH_SIZE), 2);
+        }
+    }
+
+    @Test
+    public void asyncField_isParentOfItsChildren() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder), "{asyncAuthor {name}}");
+        assertTrue(result.getErrors().isEmpty());
+
+        FieldSpan asyncAuthor = recorder.getSpans("TracingQuery.asyncAuthor").get(0);
+        assertEquals(asyncAuthor.getAttributes().get(FieldSpan.JAVA_CLASS), AsyncAuthorDataFetcher.class.getName());
+        assertFalse(asyncAuthor.getAttributes().containsKey(FieldSpan.JAVA_METHOD));
+        assertTrue(asyncAuthor.getDurationNanos() >= Duration.ofMillis(20).toNanos());
+
+        FieldSpan name = recorder.getSpans("TracingAuthor.name").get(0);
+        assertEquals(name.getParentSpanId(), asyncAuthor.getSpanId());
+    }
+
+    @Test
+    public void reusedContext_newTracePerRequest() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).setTracing(new Tracing(recorder)).build()).build();
+        ExecutionInput executionInput = GraphQLHelper.createExecutionInput("{authors {books {title}}}", new Query());
+
+        assertTrue(graphQL.execute(executionInput).getErrors().isEmpty());
+        assertTrue(graphQL.execute(executionInput).getErrors().isEmpty());
+
+        List<FieldSpan> authors = recorder.getSpans("TracingQuery.authors");
+        assertEquals(authors.size(), 2);
+        assertNotEquals(authors.get(0).getTraceId(), authors.get(1).getTraceId());
+        for (FieldSpan author : authors) {
+            assertEquals(author.getParentSpanId(), 0);
+        }
+        for (FieldSpan book : recorder.getSpans("TracingAuthor.books")) {
+            FieldSpan parent = authors.get(0).getTraceId().equals(book.getTraceId()) ? authors.get(0) : authors.get(1);
+            assertEquals(book.getParentSpanId(), parent.getSpanId());
+        }
+        assertEquals(recorder.getSpans().size(), 2 * (1 + 3 + 6));
+    }
+
+    @Test
+    public void failingField_spanHasError() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder), "{fails}");
+        assertEquals(result.getErrors().size(), 1);
+
+        List<FieldSpan> spans = recorder.getSpans("TracingQuery.fails");
+        assertEquals(spans.size(), 1);
+        assertNotNull(spans.get(0).getError());
+    }
+
+    @Test
+    public void sampleRateZero_noSpans() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder).withSampleRate(0), "{authors {books {title}}}");
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(recorder.getSpans().isEmpty());
+    }
+
+    @Test
+    public void minDuration_shortSpansDropped_childrenAttachedToRecordedAncestor() {
+        InMemorySpanRecorder recorder = new InMemorySpanRecorder();
+        ExecutionResult result = execute(new Tracing(recorder).withMinDuration(Duration.ofMillis(15)), "{wrapper {slow {name slowName}}}");
+        assertTrue(result.getErrors().isEmpty());
+
+        assertTrue(recorder.getSpans("TracingQuery.wrapper").isEmpty());
+        assertTrue(recorder.getSpans("TracingAuthor.name").isEmpty());
+
+        FieldSpan slow = recorder.getSpans("TracingWrapper.slow").get(0);
+        assertEquals(slow.getParentSpanId(), 0);
+        FieldSpan slowName = recorder.getSpans("TracingAuthor.slowName").get(0);
+        assertEquals(slowName.getParentSpanId(), slow.getSpanId());
+        assertEquals(recorder.getSpans().size(), 2);
+    }
+}